@@ -0,0 +1,4 @@
+package abs.wordle.benchmarks.jmh_generated;
+public class DictionaryBenchmark_jmhType extends DictionaryBenchmark_jmhType_B3 {
+}
+
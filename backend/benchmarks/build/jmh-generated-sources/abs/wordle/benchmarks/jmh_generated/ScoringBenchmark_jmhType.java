@@ -0,0 +1,4 @@
+package abs.wordle.benchmarks.jmh_generated;
+public class ScoringBenchmark_jmhType extends ScoringBenchmark_jmhType_B3 {
+}
+
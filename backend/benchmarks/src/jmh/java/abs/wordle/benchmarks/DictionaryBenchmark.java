@@ -0,0 +1,59 @@
+package abs.wordle.benchmarks;
+
+import abs.wordle.backend.services.WordDictionary;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DictionaryBenchmark {
+    private static final int GUESS_COUNT = 1024;
+
+    private WordDictionary wordDictionary;
+    private List<String> wordList;
+    private String[] guesses;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        wordDictionary = new WordDictionary();
+        wordList = new ArrayList<>(wordDictionary.size());
+        for (int id = 0; id < wordDictionary.size(); id++) {
+            wordList.add(wordDictionary.wordOf(id));
+        }
+
+        Random random = new Random(42);
+        guesses = new String[GUESS_COUNT];
+        for (int i = 0; i < GUESS_COUNT; i++) {
+            if (random.nextBoolean()) {
+                guesses[i] = wordList.get(random.nextInt(wordList.size()));
+            } else {
+                char[] letters = new char[5];
+                for (int j = 0; j < letters.length; j++) {
+                    letters[j] = (char) ('A' + random.nextInt(26));
+                }
+                guesses[i] = new String(letters);
+            }
+        }
+    }
+
+    private String nextGuess() {
+        cursor = (cursor + 1) & (GUESS_COUNT - 1);
+        return guesses[cursor];
+    }
+
+    @Benchmark
+    public boolean listContains() {
+        return wordList.contains(nextGuess());
+    }
+
+    @Benchmark
+    public boolean packedIndexContains() {
+        return wordDictionary.isAllowedGuess(nextGuess());
+    }
+}
@@ -0,0 +1,88 @@
+package abs.wordle.benchmarks;
+
+import abs.wordle.backend.dto.GuessResponseDTO;
+import abs.wordle.backend.enums.GameStatus;
+import abs.wordle.backend.enums.GuessEventOverflowPolicy;
+import abs.wordle.backend.enums.StorageMode;
+import abs.wordle.backend.enums.WriteBehindDurability;
+import abs.wordle.backend.models.Game;
+import abs.wordle.backend.producers.GameEventProducer;
+import abs.wordle.backend.producers.GuessEventPublisher;
+import abs.wordle.backend.repository.AttemptRepository;
+import abs.wordle.backend.repository.GameRepository;
+import abs.wordle.backend.services.FeedbackTable;
+import abs.wordle.backend.services.GameService;
+import abs.wordle.backend.services.LegacyStorage;
+import abs.wordle.backend.services.WordDictionary;
+import abs.wordle.backend.services.WriteBehindGameStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GameService#processGuess} with repositories kept in memory: measures validation,
+ * scoring and entity/DTO construction without the database round-trips.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameServiceBenchmark {
+    private static final long USER_ID = 1L;
+    private static final String[] GUESSES = {"CRANE", "SLOTH", "PIVOT", "MOUND", "FJORD"};
+
+    private GameService gameService;
+    private Game game;
+    private int guessIndex;
+
+    @Setup
+    public void setUp() {
+        WordDictionary wordDictionary = new WordDictionary();
+        GameRepository gameRepository = InMemoryRepositories.create(GameRepository.class);
+        LegacyStorage legacyStorage = new LegacyStorage(null, null, null, wordDictionary, StorageMode.COMPACT);
+        gameService = new GameService(
+                new GameEventProducer(null, null),
+                gameRepository,
+                // attempts are never read back; keeping millions of them made every iteration slower than the last
+                InMemoryRepositories.writeOnly(AttemptRepository.class),
+                legacyStorage,
+                null,
+                wordDictionary,
+                new FeedbackTable(wordDictionary, false, ""),
+                new WriteBehindGameStore(null, null, null, legacyStorage, null, null, false, 1, 1, 0, WriteBehindDurability.ASYNC, 0),
+                new TransactionTemplate(new NoOpTransactionManager()),
+                new GuessEventPublisher(null, null, false, 2, GuessEventOverflowPolicy.DROP, 1, 1, 1, 0));
+        game = gameRepository.save(new Game("GRAVE", USER_ID));
+    }
+
+    @Benchmark
+    public GuessResponseDTO processGuess() {
+        if (game.getCurrentTry() == GUESSES.length) {
+            game.setCurrentTry(0);
+            game.setGameStatus(GameStatus.PROCEED);
+            game.getAttempts().clear();
+        }
+        String guess = GUESSES[guessIndex];
+        guessIndex = (guessIndex + 1) % GUESSES.length;
+        return gameService.processGuess(game.getId(), guess, USER_ID);
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package abs.wordle.benchmarks;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Map-backed stand-ins for Spring Data repositories, so service code can be benchmarked
+ * without a database. Supports {@code save}, {@code saveAll}, {@code findById} and {@code findAll}.
+ * A write-only repository assigns ids but keeps nothing, for entities the benchmark only ever inserts.
+ */
+final class InMemoryRepositories {
+    private InMemoryRepositories() {}
+
+    static <R> R create(Class<R> repositoryType) {
+        return create(repositoryType, new HashMap<>());
+    }
+
+    static <R> R writeOnly(Class<R> repositoryType) {
+        return create(repositoryType, new DiscardingMap());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R create(Class<R> repositoryType, Map<Object, Object> store) {
+        AtomicLong ids = new AtomicLong();
+        return (R) Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> save(store, ids, args[0]);
+                    case "saveAll" -> {
+                        List<Object> saved = new ArrayList<>();
+                        for (Object entity : (Iterable<?>) args[0]) {
+                            saved.add(save(store, ids, entity));
+                        }
+                        yield saved;
+                    }
+                    case "findById" -> Optional.ofNullable(store.get(args[0]));
+                    case "findAll" -> new ArrayList<>(store.values());
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemory" + repositoryType.getSimpleName();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static Object save(Map<Object, Object> store, AtomicLong ids, Object entity) throws ReflectiveOperationException {
+        Method getId = entity.getClass().getMethod("getId");
+        Object id = getId.invoke(entity);
+        if (id == null) {
+            id = ids.incrementAndGet();
+            entity.getClass().getMethod("setId", Long.class).invoke(entity, id);
+        }
+        store.put(id, entity);
+        return entity;
+    }
+
+    private static final class DiscardingMap extends HashMap<Object, Object> {
+        @Override
+        public Object put(Object key, Object value) {
+            return null;
+        }
+    }
+}
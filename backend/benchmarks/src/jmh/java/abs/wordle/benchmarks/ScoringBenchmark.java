@@ -0,0 +1,79 @@
+package abs.wordle.benchmarks;
+
+import abs.wordle.backend.enums.LetterStatus;
+import abs.wordle.backend.services.FeedbackTable;
+import abs.wordle.backend.services.WordDictionary;
+import abs.wordle.backend.utils.WordleUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScoringBenchmark {
+    private static final int PAIR_COUNT = 1024;
+
+    private WordDictionary wordDictionary;
+    private FeedbackTable feedbackTable;
+    private Path tableFile;
+    private int[] answerIds;
+    private int[] guessIds;
+    private String[] answers;
+    private String[] guesses;
+    private int cursor;
+
+    @Setup
+    public void setUp() throws IOException {
+        wordDictionary = new WordDictionary();
+        tableFile = Files.createTempFile("wordle-feedback-bench", ".bin");
+        Files.delete(tableFile);
+        feedbackTable = new FeedbackTable(wordDictionary, true, tableFile.toString());
+        feedbackTable.load();
+
+        Random random = new Random(42);
+        answerIds = new int[PAIR_COUNT];
+        guessIds = new int[PAIR_COUNT];
+        answers = new String[PAIR_COUNT];
+        guesses = new String[PAIR_COUNT];
+        for (int i = 0; i < PAIR_COUNT; i++) {
+            answerIds[i] = random.nextInt(wordDictionary.answerCount());
+            guessIds[i] = random.nextInt(wordDictionary.size());
+            answers[i] = wordDictionary.wordOf(answerIds[i]);
+            guesses[i] = wordDictionary.wordOf(guessIds[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(tableFile);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (PAIR_COUNT - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public List<LetterStatus> determineLetterStatuses() {
+        int i = next();
+        return WordleUtils.determineLetterStatuses(answers[i], guesses[i]);
+    }
+
+    @Benchmark
+    public int scorePacked() {
+        int i = next();
+        return WordleUtils.score(wordDictionary.codeOf(answerIds[i]), wordDictionary.codeOf(guessIds[i]));
+    }
+
+    @Benchmark
+    public int feedbackTableLookup() {
+        int i = next();
+        return feedbackTable.feedback(answerIds[i], guessIds[i]);
+    }
+}
@@ -0,0 +1,54 @@
+package abs.wordle.benchmarks;
+
+import abs.wordle.backend.dto.GameResponseDTO;
+import abs.wordle.backend.dto.GuessResponseDTO;
+import abs.wordle.backend.models.Attempt;
+import abs.wordle.backend.models.Game;
+import abs.wordle.backend.utils.WordleUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+    private static final String WORD = "GRAVE";
+    private static final String[] GUESSES = {"CRANE", "SLOTH", "PIVOT", "MOUND", "FJORD"};
+
+    private ObjectMapper objectMapper;
+    private GameResponseDTO gameResponse;
+    private GuessResponseDTO guessResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+
+        Game game = new Game(WORD, 1L);
+        game.setId(1L);
+        for (String guess : GUESSES) {
+            Attempt attempt = new Attempt();
+            attempt.setGame(game);
+            attempt.setGuess(guess);
+            attempt.setFeedback((short) WordleUtils.score(WORD, guess));
+            game.getAttempts().add(attempt);
+        }
+        game.setCurrentTry(GUESSES.length);
+
+        gameResponse = new GameResponseDTO(game);
+        String lastGuess = GUESSES[GUESSES.length - 1];
+        guessResponse = new GuessResponseDTO(game, lastGuess, WordleUtils.determineLetterStatuses(WORD, lastGuess));
+    }
+
+    @Benchmark
+    public byte[] serializeGameResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(gameResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeGuessResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(guessResponse);
+    }
+}
@@ -0,0 +1,177 @@
+package abs.wordle.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator for game-service: every virtual user creates an anonymous game
+ * and plays it out, keeping {@code concurrency} requests in flight. Run it once against a
+ * service started with {@code VIRTUAL_THREADS_ENABLED=false} and once with {@code true}.
+ *
+ * <pre>./gradlew :benchmarks:loadTest -PloadArgs="url=http://localhost:8081 concurrency=10000 duration=60 warmup=15"</pre>
+ */
+public class LoadDriver {
+    private static final String[] GUESSES = {"CRANE", "SLOTH", "PRIDE", "MOUNT", "GHOST", "BLIMP", "FIGHT", "WORDY"};
+    private static final Pattern GAME_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final HttpClient httpClient;
+    private final String url;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    private LoadDriver(String url) {
+        this.url = url;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        String url = options.getOrDefault("url", "http://localhost:8081");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "10000"));
+        long warmupSeconds = Long.parseLong(options.getOrDefault("warmup", "15"));
+        long durationSeconds = Long.parseLong(options.getOrDefault("duration", "60"));
+
+        LoadDriver driver = new LoadDriver(url);
+        System.out.printf("Driving %s with %d in-flight requests: %ds warmup, %ds measured%n",
+                url, concurrency, warmupSeconds, durationSeconds);
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                users.submit(driver::play);
+            }
+            Thread.sleep(Duration.ofSeconds(warmupSeconds));
+            driver.recording = true;
+            Thread.sleep(Duration.ofSeconds(durationSeconds));
+            driver.recording = false;
+            driver.running = false;
+        }
+        driver.report(durationSeconds);
+    }
+
+    private void play() {
+        while (running) {
+            String created = call(HttpRequest.newBuilder(URI.create(url + "/api/games/create"))
+                    .POST(HttpRequest.BodyPublishers.noBody()));
+            Matcher matcher = created == null ? null : GAME_ID.matcher(created);
+            if (matcher == null || !matcher.find()) {
+                continue;
+            }
+            String gameId = matcher.group(1);
+            for (int i = 0; i < 6 && running; i++) {
+                String guess = GUESSES[ThreadLocalRandom.current().nextInt(GUESSES.length)];
+                String body = "{\"gameId\":" + gameId + ",\"guess\":\"" + guess + "\"}";
+                String response = call(HttpRequest.newBuilder(URI.create(url + "/api/games/guess"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)));
+                if (response == null || !response.contains("\"PROCEED\"")) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private String call(HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            boolean ok = response.statusCode() < 400;
+            record(start, ok);
+            return ok ? response.body() : null;
+        } catch (Exception e) {
+            record(start, false);
+            return null;
+        }
+    }
+
+    private void record(long start, boolean ok) {
+        if (!recording) {
+            return;
+        }
+        if (ok) {
+            latencies.record((System.nanoTime() - start) / 1_000);
+        } else {
+            errors.increment();
+        }
+    }
+
+    private void report(long durationSeconds) {
+        long count = latencies.count();
+        System.out.printf("requests %d, errors %d, throughput %.0f req/s%n",
+                count, errors.sum(), count / (double) durationSeconds);
+        System.out.printf("latency ms: p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f%n",
+                latencies.percentile(0.50) / 1000.0, latencies.percentile(0.90) / 1000.0,
+                latencies.percentile(0.99) / 1000.0, latencies.percentile(0.999) / 1000.0,
+                latencies.percentile(1.0) / 1000.0);
+    }
+
+    /** Log-linear histogram of microsecond values: 16 sub-buckets per power of two, about 6% error. */
+    private static final class LatencyHistogram {
+        private static final int SUB_BUCKETS = 16;
+        private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+
+        void record(long micros) {
+            buckets.incrementAndGet(index(Math.max(0, micros)));
+        }
+
+        long count() {
+            long count = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                count += buckets.get(i);
+            }
+            return count;
+        }
+
+        long percentile(double quantile) {
+            long total = count();
+            long threshold = Math.max(1, (long) Math.ceil(total * quantile));
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= threshold) {
+                    return upperBound(i);
+                }
+            }
+            return 0;
+        }
+
+        private static int index(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exponent - 4)) & (SUB_BUCKETS - 1);
+            return (exponent - 3) * SUB_BUCKETS + sub;
+        }
+
+        private static long upperBound(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int exponent = index / SUB_BUCKETS + 3;
+            long sub = index % SUB_BUCKETS;
+            return ((SUB_BUCKETS + sub + 1) << (exponent - 4)) - 1;
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package abs.wordle.backend.clients;
 
 import abs.wordle.backend.dto.UserDto;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
@@ -9,10 +9,15 @@ import org.springframework.web.client.RestTemplate;
 import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 public class UserClient {
     private final RestTemplate restTemplate;
-    private final String userServiceUrl = "http://user-service:8082/api/users/internal/";
+    private final String userServiceUrl;
+
+    public UserClient(RestTemplate restTemplate,
+                      @Value("${wordle.user-service.url}") String userServiceUrl) {
+        this.restTemplate = restTemplate;
+        this.userServiceUrl = userServiceUrl;
+    }
 
     public Optional<UserDto> getUserById(Long userId) {
         try{
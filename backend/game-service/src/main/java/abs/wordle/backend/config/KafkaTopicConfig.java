@@ -1,17 +1,39 @@
 package abs.wordle.backend.config;
 
+import abs.wordle.backend.producers.GameEventProducer;
+import abs.wordle.backend.producers.GuessEventPublisher;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class KafkaTopicConfig {
+    // events are keyed by user id, so one user's events share a partition and stay in order.
+    // Size the partition count up front: KafkaAdmin adds partitions to an existing topic on
+    // startup, but that remaps keys, and a user's next event can then be consumed before the
+    // events still queued on the old partition
+    @Bean
+    public NewTopic gameFinishedTopic(@Value("${wordle.game-finished.partitions:12}") int partitions,
+                                      @Value("${wordle.game-finished.replicas:1}") int replicas) {
+        return TopicBuilder.name(GameEventProducer.GAME_FINISHED_TOPIC)
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+
     @Bean
-    public NewTopic gameFinishedTopic() {
-        return TopicBuilder.name("game-finished-topic")
-                .partitions(1)
-                .replicas(1)
+    public NewTopic guessMadeTopic(@Value("${wordle.guess-events.partitions:12}") int partitions,
+                                   @Value("${wordle.guess-events.replicas:1}") int replicas) {
+        return TopicBuilder.name(GuessEventPublisher.GUESS_MADE_TOPIC)
+                .partitions(partitions)
+                .replicas(replicas)
+                // analytics only need the recent past
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(TimeUnit.DAYS.toMillis(1)))
                 .build();
     }
 }
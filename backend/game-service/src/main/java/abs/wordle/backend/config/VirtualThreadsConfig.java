@@ -0,0 +1,24 @@
+package abs.wordle.backend.config;
+
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class VirtualThreadsConfig {
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadMaxConnections(
+            @Value("${wordle.virtual-threads.max-connections:20000}") int maxConnections) {
+        return factory -> factory.addProtocolHandlerCustomizers(protocolHandler -> {
+            if (protocolHandler instanceof AbstractProtocol<?> protocol) {
+                protocol.setMaxConnections(maxConnections);
+            }
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package abs.wordle.backend.consumers;
+
+import abs.wordle.backend.dto.UserDto;
+import abs.wordle.backend.services.UserDirectory;
+import abs.wordle.events.UserEvent;
+import abs.wordle.events.UserEventType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserEventConsumer {
+    private final UserDirectory userDirectory;
+
+    // every instance keeps its own replica, so each one assigns itself all partitions and replays the
+    // compacted topic from the start; the fixed group only holds offsets, which are never resumed from
+    @KafkaListener(groupId = "game-service-users",
+            topicPartitions = @TopicPartition(topic = "user-events-topic",
+                    partitionOffsets = @PartitionOffset(partition = "*", initialOffset = "0")))
+    public void handleUserEvent(UserEvent userEvent) {
+        log.debug("Received UserEvent {}", userEvent);
+        if (userEvent.getType() == UserEventType.DELETED) {
+            userDirectory.remove(userEvent.getUserId());
+        } else {
+            userDirectory.put(new UserDto(userEvent.getUserId(), userEvent.getUsername()));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package abs.wordle.backend.controllers;
+
+import abs.wordle.backend.services.GameExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+// bulk pulls for the data team; not routed by the gateway, so only reachable inside the cluster
+@RestController
+@RequestMapping("/internal/export")
+@RequiredArgsConstructor
+public class ExportController {
+    private final GameExportService gameExportService;
+
+    @GetMapping("/games")
+    public ResponseEntity<StreamingResponseBody> exportGames(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"));
+        if (!gzip) {
+            return response.body(outputStream -> gameExportService.export(from, to, outputStream));
+        }
+        return response
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(outputStream -> {
+                    try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 64 * 1024)) {
+                        gameExportService.export(from, to, gzipOutputStream);
+                    }
+                });
+    }
+}
@@ -1,16 +1,14 @@
 package abs.wordle.backend.controllers;
 
+import abs.wordle.backend.dto.GamePageDTO;
 import abs.wordle.backend.dto.GameResponseDTO;
 import abs.wordle.backend.dto.GuessRequestDTO;
 import abs.wordle.backend.dto.GuessResponseDTO;
-import abs.wordle.backend.models.Game;
+import abs.wordle.backend.enums.GameStatus;
 import abs.wordle.backend.services.GameService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/games")
 @RequiredArgsConstructor
@@ -31,12 +29,12 @@ public class GameController {
         return new GameResponseDTO(gameService.create(Long.parseLong(userId)));
     }
 
-    @GetMapping("/all")
-    public List<GameResponseDTO> getAllGames() {
-        List<Game> games = gameService.findAll();
-        return games.stream()
-                .map(GameResponseDTO::new)
-                .collect(Collectors.toList());
+    @GetMapping
+    public GamePageDTO getGames(@RequestParam(required = false) Long afterId,
+                                @RequestParam(required = false) GameStatus status,
+                                @RequestParam(required = false) Long userId,
+                                @RequestParam(defaultValue = "20") int size) {
+        return gameService.findPage(afterId, status, userId, size);
     }
 
     @PostMapping("/guess")
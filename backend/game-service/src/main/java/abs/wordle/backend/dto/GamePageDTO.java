@@ -0,0 +1,16 @@
+package abs.wordle.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GamePageDTO {
+    private List<GameResponseDTO> games;
+    /** Pass as {@code afterId} to fetch the next page; {@code null} on the last page. */
+    private Long nextCursor;
+}
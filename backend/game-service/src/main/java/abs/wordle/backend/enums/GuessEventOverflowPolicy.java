@@ -0,0 +1,8 @@
+package abs.wordle.backend.enums;
+
+public enum GuessEventOverflowPolicy {
+    /** Events are only dropped once the buffer is full. */
+    DROP,
+    /** Past the high watermark only one in {@code sample-rate} events is buffered; a full buffer still drops. */
+    SAMPLE
+}
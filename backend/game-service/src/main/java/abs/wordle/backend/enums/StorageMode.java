@@ -0,0 +1,11 @@
+package abs.wordle.backend.enums;
+
+public enum StorageMode {
+    /** One row per attempt: guess word id and packed feedback code. */
+    COMPACT,
+    /**
+     * Compact rows plus the legacy varchar word/guess columns and per-letter LetterStatusEntity rows,
+     * so old and new instances can run side by side during a rolling migration.
+     */
+    DUAL
+}
@@ -0,0 +1,8 @@
+package abs.wordle.backend.enums;
+
+public enum WriteBehindDurability {
+    /** Guesses are acknowledged before they reach the database; a crash can lose up to one flush interval. */
+    ASYNC,
+    /** Every guess waits for the batch that contains it to commit (group commit). */
+    SYNC
+}
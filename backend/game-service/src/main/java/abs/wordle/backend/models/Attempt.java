@@ -1,6 +1,8 @@
 package abs.wordle.backend.models;
 
 
+import abs.wordle.backend.enums.LetterStatus;
+import abs.wordle.backend.utils.WordleUtils;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -8,6 +10,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -20,7 +23,8 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class Attempt {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attempt_seq")
+    @SequenceGenerator(name = "attempt_seq", sequenceName = "Attempt_SEQ", allocationSize = 50)
     @JsonIgnore
     private Long id;
 
@@ -30,16 +34,25 @@ public class Attempt {
     @OnDelete(action = OnDeleteAction.CASCADE)
     private Game game;
 
+    @Convert(converter = WordIdConverter.class)
+    @Column(name = "guess_id")
     private String guess;
 
+    @JsonIgnore
+    private Short feedback;
+
     @OneToMany(mappedBy = "attempt", cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     @JsonIgnore
     private List<LetterStatusEntity> letterStatusesList;
 
     @JsonGetter("letterStatuses")
-    public List<String> getLetterStatuses() {
+    public List<LetterStatus> getLetterStatuses() {
+        if (feedback != null) {
+            return WordleUtils.decodeFeedback(feedback);
+        }
         return letterStatusesList.stream()
-                .map(letterStatusEntity -> letterStatusEntity.getLetterStatus().name())
+                .map(LetterStatusEntity::getLetterStatus)
                 .collect(Collectors.toList());
     }
 }
@@ -1,16 +1,20 @@
 package abs.wordle.backend.models;
 
 import abs.wordle.backend.enums.GameStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Data
 @Entity
@@ -18,9 +22,12 @@ import java.util.List;
 @AllArgsConstructor
 public class Game {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_seq")
+    @SequenceGenerator(name = "game_seq", sequenceName = "Game_SEQ", allocationSize = 50)
     private Long id;
 
+    @Convert(converter = WordIdConverter.class)
+    @Column(name = "word_id")
     private String word;
 
     @JoinColumn(name = "users_id", nullable = true)
@@ -28,6 +35,7 @@ public class Game {
 
     @JsonManagedReference
     @OneToMany(mappedBy = "game", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
     private List<Attempt> attempts;
 
     private int currentTry;
@@ -36,6 +44,13 @@ public class Game {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // guards the in-memory copy held by the write-behind store
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final ReentrantLock lock = new ReentrantLock();
+
     public Game(String word) {
         this.word = word;
         this.attempts = new ArrayList<>();
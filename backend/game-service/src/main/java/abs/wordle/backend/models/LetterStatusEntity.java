@@ -15,7 +15,9 @@ import org.hibernate.annotations.OnDeleteAction;
 @AllArgsConstructor
 public class LetterStatusEntity {
     @Id
-    @GeneratedValue
+    // the implicit sequence of the old @GeneratedValue, which DUAL mode keeps sharing with old instances
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "letter_status_seq")
+    @SequenceGenerator(name = "letter_status_seq", sequenceName = "LetterStatusEntity_SEQ", allocationSize = 50)
     private Long id;
 
     @JsonBackReference
@@ -0,0 +1,42 @@
+package abs.wordle.backend.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "outbox_event_unsent_idx", columnList = "sentAt, id"))
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    private String topic;
+
+    private String messageKey;
+
+    private String eventType;
+
+    // the record value exactly as it goes to Kafka, already encoded
+    @Column(length = 4000)
+    private byte[] payload;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    public OutboxEvent(String topic, String messageKey, String eventType, byte[] payload) {
+        this.topic = topic;
+        this.messageKey = messageKey;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+}
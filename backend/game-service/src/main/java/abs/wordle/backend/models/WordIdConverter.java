@@ -0,0 +1,39 @@
+package abs.wordle.backend.models;
+
+import abs.wordle.backend.services.WordDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores dictionary words as their {@link WordDictionary} id in a smallint column.
+ */
+@Component
+@Converter
+public class WordIdConverter implements AttributeConverter<String, Short> {
+    private final WordDictionary wordDictionary;
+
+    public WordIdConverter(WordDictionary wordDictionary) {
+        if (wordDictionary.size() > Short.MAX_VALUE) {
+            throw new IllegalStateException("Dictionary is too large for smallint word ids: " + wordDictionary.size());
+        }
+        this.wordDictionary = wordDictionary;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(String word) {
+        if (word == null) {
+            return null;
+        }
+        int wordId = wordDictionary.idOf(word);
+        if (wordId < 0) {
+            throw new IllegalArgumentException("Word is not in the dictionary: " + word);
+        }
+        return (short) wordId;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short wordId) {
+        return wordId == null ? null : wordDictionary.wordOf(wordId);
+    }
+}
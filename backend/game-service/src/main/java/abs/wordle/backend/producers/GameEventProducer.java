@@ -1,24 +1,56 @@
 package abs.wordle.backend.producers;
 
 import abs.wordle.backend.models.Game;
+import abs.wordle.backend.models.OutboxEvent;
+import abs.wordle.backend.repository.OutboxEventRepository;
+import abs.wordle.backend.utils.WordleUtils;
 import abs.wordle.events.GameFinishedEvent;
+import abs.wordle.events.GameResult;
+import abs.wordle.events.serialization.AvroEventCodec;
 import lombok.RequiredArgsConstructor;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * Records game events in the outbox table, inside the caller's transaction.
+ * {@link OutboxRelay} publishes them to Kafka once the transaction has committed.
+ */
 @Service
 @RequiredArgsConstructor
 public class GameEventProducer {
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    public static final String GAME_FINISHED_TOPIC = "game-finished-topic";
 
-    //@Value("${topic.game-finished}")
-    private static String GAME_FINISHED_TOPIC = "game-finished-topic";
+    private static final AvroEventCodec codec = AvroEventCodec.shared();
 
-    public void sendGameFinishedMessage(Game game) {
-        GameFinishedEvent event = GameFinishedEvent.builder()
-                  .userId(game.getUserId())
-                  .result(game.getGameStatus().name())
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelay outboxRelay;
+
+    public void enqueueGameFinished(Game game) {
+        GameFinishedEvent event = GameFinishedEvent.newBuilder()
+                .setUserId(game.getUserId())
+                .setResult(GameResult.valueOf(game.getGameStatus().name()))
+                .setAttempts(game.getCurrentTry())
+                .setFinishedAt(System.currentTimeMillis())
+                // 0 marks an unknown word, which user-service rates against an average word
+                .setWordCode(Math.max(0, WordleUtils.encode(game.getWord())))
                 .build();
-        kafkaTemplate.send(GAME_FINISHED_TOPIC, game.getId().toString(), event);
+        // keyed by user so all results of one player land on one partition, in order
+        outboxEventRepository.save(new OutboxEvent(GAME_FINISHED_TOPIC, String.valueOf(game.getUserId()),
+                GameFinishedEvent.class.getName(), codec.encode(event)));
+        wakeRelayAfterCommit();
+    }
+
+    private void wakeRelayAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxRelay.wakeUp();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp();
+            }
+        });
     }
 }
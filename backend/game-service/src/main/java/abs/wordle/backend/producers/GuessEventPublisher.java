@@ -0,0 +1,171 @@
+package abs.wordle.backend.producers;
+
+import abs.wordle.backend.enums.GuessEventOverflowPolicy;
+import abs.wordle.backend.utils.MpscRingBuffer;
+import abs.wordle.events.GuessMadeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+/**
+ * Best-effort stream of {@link GuessMadeEvent}s for live analytics. Request threads only put
+ * the event into a lock-free ring buffer and never wait; a single publisher thread drains it
+ * into the Kafka producer, whose {@code linger.ms} groups the records into batches.
+ * Under backpressure events are dropped or sampled according to {@code overflow-policy}
+ * rather than slowing guesses down, so the stream is lossy by design.
+ */
+@Slf4j
+@Component
+public class GuessEventPublisher {
+    public static final String GUESS_MADE_TOPIC = "guess-made-topic";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final GuessEventOverflowPolicy overflowPolicy;
+    private final int highWatermark;
+    private final int sampleRate;
+    private final int batchSize;
+    private final long idleParkNanos;
+    private final MpscRingBuffer<GuessMadeEvent> buffer;
+
+    private volatile boolean running;
+    private Thread publisher;
+    private Counter published;
+    private Counter failed;
+    private Counter droppedOverflow;
+    private Counter droppedSampled;
+    private BiConsumer<Object, Throwable> onAck;
+
+    public GuessEventPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${wordle.guess-events.enabled:true}") boolean enabled,
+                               @Value("${wordle.guess-events.buffer-capacity:65536}") int bufferCapacity,
+                               @Value("${wordle.guess-events.overflow-policy:SAMPLE}") GuessEventOverflowPolicy overflowPolicy,
+                               @Value("${wordle.guess-events.high-watermark:0.75}") double highWatermark,
+                               @Value("${wordle.guess-events.sample-rate:10}") int sampleRate,
+                               @Value("${wordle.guess-events.batch-size:1000}") int batchSize,
+                               @Value("${wordle.guess-events.idle-park-ms:5}") long idleParkMs) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.overflowPolicy = overflowPolicy;
+        this.buffer = new MpscRingBuffer<>(enabled ? bufferCapacity : 2);
+        this.highWatermark = (int) (buffer.capacity() * highWatermark);
+        this.sampleRate = Math.max(1, sampleRate);
+        this.batchSize = batchSize;
+        this.idleParkNanos = TimeUnit.MILLISECONDS.toNanos(idleParkMs);
+        if (enabled) {
+            this.published = meterRegistry.counter("wordle.guess_events.published");
+            this.failed = meterRegistry.counter("wordle.guess_events.failed");
+            this.droppedOverflow = meterRegistry.counter("wordle.guess_events.dropped", "reason", "overflow");
+            this.droppedSampled = meterRegistry.counter("wordle.guess_events.dropped", "reason", "sampled");
+            this.onAck = (result, exception) -> {
+                if (exception == null) {
+                    published.increment();
+                } else {
+                    failed.increment();
+                }
+            };
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("wordle.guess_events.buffer.depth", buffer, MpscRingBuffer::size).register(meterRegistry);
+        running = true;
+        publisher = new Thread(this::run, "guess-event-publisher");
+        publisher.setDaemon(true);
+        publisher.start();
+        log.info("Guess events enabled: buffer {}, policy {}", buffer.capacity(), overflowPolicy);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (publisher == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(publisher);
+        publisher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Queues the event once the surrounding transaction, if any, has committed. Never blocks. */
+    public void publish(GuessMadeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            offer(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                offer(event);
+            }
+        });
+    }
+
+    private boolean offer(GuessMadeEvent event) {
+        if (overflowPolicy == GuessEventOverflowPolicy.SAMPLE
+                && buffer.size() >= highWatermark
+                && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            droppedSampled.increment();
+            return false;
+        }
+        if (!buffer.offer(event)) {
+            droppedOverflow.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private void run() {
+        List<GuessMadeEvent> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            publishBatch(batch);
+            if (batch.isEmpty() && running) {
+                LockSupport.parkNanos(idleParkNanos);
+            }
+            batch.clear();
+        }
+    }
+
+    /** Drains up to {@code batch-size} events into {@code batch} and hands them to the producer. */
+    private int publishBatch(List<GuessMadeEvent> batch) {
+        buffer.drain(batch::add, batchSize);
+        for (GuessMadeEvent event : batch) {
+            try {
+                // keyed by game so the guesses of one game stay in order
+                kafkaTemplate.send(GUESS_MADE_TOPIC, String.valueOf(event.getGameId()), event).whenComplete(onAck);
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.debug("Guess event not sent", e);
+            }
+        }
+        return batch.size();
+    }
+}
@@ -0,0 +1,203 @@
+package abs.wordle.backend.producers;
+
+import abs.wordle.backend.models.OutboxEvent;
+import abs.wordle.backend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes outbox rows to Kafka from a single background thread. The relay is woken when a
+ * transaction that wrote to the outbox commits and otherwise polls every {@code poll-interval}.
+ * Each round takes the relay lock, locks up to {@code batch-size} unsent rows, sends them all
+ * without waiting, then waits for the acks and marks the acknowledged rows sent with one update.
+ * Rows whose send failed stay unsent and are retried on the next round, so delivery is
+ * at-least-once. Once a row of a key fails, the later rows of that key are not marked either, so
+ * they are sent again after it and each key still ends in its outbox order. The relay lock lets
+ * only one instance publish at a time, which per-key order also depends on. A round in which no
+ * send was acknowledged backs off, doubling up to {@code max-backoff-ms}.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+    // "outbox" in ASCII, the advisory lock id every instance's relay competes for
+    private static final long RELAY_LOCK_KEY = 0x6F7574626F78L;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final long sendTimeoutMs;
+    private final long maxBackoffMs;
+
+    private final Semaphore signal = new Semaphore(0);
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private volatile boolean running;
+    private Thread relay;
+    private final Counter published;
+    private final Counter failed;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${wordle.outbox.relay-enabled:true}") boolean enabled,
+                       @Value("${wordle.outbox.batch-size:500}") int batchSize,
+                       @Value("${wordle.outbox.poll-interval-ms:1000}") long pollIntervalMs,
+                       @Value("${wordle.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+                       @Value("${wordle.outbox.max-backoff-ms:30000}") long maxBackoffMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.published = meterRegistry.counter("wordle.outbox.published");
+        this.failed = meterRegistry.counter("wordle.outbox.failed");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        relay = new Thread(this::run, "outbox-relay");
+        relay.setDaemon(true);
+        relay.start();
+        log.info("Outbox relay started: batch {}, poll {} ms", batchSize, pollIntervalMs);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (relay == null) {
+            return;
+        }
+        running = false;
+        stopped.countDown();
+        signal.release();
+        relay.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /** Asks the relay to drain the outbox now instead of at the next poll. */
+    public void wakeUp() {
+        if (signal.availablePermits() == 0) {
+            signal.release();
+        }
+    }
+
+    private void run() {
+        long backoffMs = 0;
+        while (running) {
+            try {
+                if (backoffMs > 0) {
+                    // commits keep waking the relay, so the backoff must not listen to the signal
+                    stopped.await(backoffMs, TimeUnit.MILLISECONDS);
+                } else {
+                    signal.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                }
+                signal.drainPermits();
+                Round round;
+                do {
+                    round = relayRound();
+                } while (round.acked() == batchSize && running);
+                backoffMs = round.claimed() > 0 && round.acked() == 0
+                        ? Math.min(Math.max(pollIntervalMs, backoffMs * 2), maxBackoffMs)
+                        : 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay round failed", e);
+            }
+        }
+    }
+
+    /** Publishes one batch and returns the number of rows acknowledged and marked sent. */
+    public int relayBatch() {
+        return relayRound().acked();
+    }
+
+    private Round relayRound() {
+        Round round = transactionTemplate.execute(status -> {
+            if (!outboxEventRepository.tryLockRelay(RELAY_LOCK_KEY)) {
+                return Round.IDLE;
+            }
+            List<OutboxEvent> events = outboxEventRepository.findUnsent(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return Round.IDLE;
+            }
+            List<CompletableFuture<?>> acks = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                acks.add(send(event));
+            }
+            kafkaTemplate.flush();
+
+            List<Long> sent = new ArrayList<>(events.size());
+            Set<String> failedKeys = new HashSet<>();
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+            for (int i = 0; i < events.size(); i++) {
+                OutboxEvent event = events.get(i);
+                boolean acked = awaitAck(acks.get(i), deadline);
+                if (acked && !failedKeys.contains(event.getMessageKey())) {
+                    sent.add(event.getId());
+                } else {
+                    failedKeys.add(event.getMessageKey());
+                }
+            }
+            if (!sent.isEmpty()) {
+                outboxEventRepository.markSent(sent, LocalDateTime.now());
+            }
+            published.increment(sent.size());
+            failed.increment(events.size() - sent.size());
+            return new Round(events.size(), sent.size());
+        });
+        return round == null ? Round.IDLE : round;
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event) {
+        try {
+            return kafkaTemplate.send(event.getTopic(), event.getMessageKey(), event.getPayload());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private record Round(int claimed, int acked) {
+        static final Round IDLE = new Round(0, 0);
+    }
+
+    private static boolean awaitAck(CompletableFuture<?> ack, long deadline) {
+        try {
+            ack.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.debug("Outbox send not acknowledged", e);
+            return false;
+        }
+    }
+}
@@ -2,13 +2,20 @@ package abs.wordle.backend.repository;
 
 import abs.wordle.backend.enums.GameStatus;
 import abs.wordle.backend.models.Game;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
@@ -20,4 +27,27 @@ public interface GameRepository extends JpaRepository<Game, Long> {
     @Modifying
     @Query("DELETE FROM Game g WHERE g.updatedAt < :cutoff AND g.gameStatus = :status")
     int deleteAbandonedGamesOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("status") GameStatus status);
+
+    @Query("SELECT g.id FROM Game g WHERE g.id > :afterId " +
+            "AND (:status IS NULL OR g.gameStatus = :status) " +
+            "AND (:userId IS NULL OR g.userId = :userId) " +
+            "ORDER BY g.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId,
+                            @Param("status") GameStatus status,
+                            @Param("userId") Long userId,
+                            Pageable pageable);
+
+    @Query("SELECT g FROM Game g LEFT JOIN FETCH g.attempts WHERE g.id IN :ids ORDER BY g.id")
+    List<Game> findAllWithAttemptsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT g FROM Game g LEFT JOIN FETCH g.attempts " +
+            "WHERE (:from IS NULL OR g.updatedAt >= :from) " +
+            "AND (:to IS NULL OR g.updatedAt < :to) " +
+            "ORDER BY g.id")
+    Stream<Game> streamForExport(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
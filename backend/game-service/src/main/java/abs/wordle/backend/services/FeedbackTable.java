@@ -0,0 +1,165 @@
+package abs.wordle.backend.services;
+
+import abs.wordle.backend.utils.WordleUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Optional precomputed feedback for every (answer, guess) pair of the dictionary, one byte per pair.
+ * The table is generated on first startup, written next to {@code wordle.feedback-table.path} and
+ * memory-mapped on later boots, so it lives outside the heap. Without it scoring falls back to
+ * {@link WordleUtils#score(int, int)}.
+ */
+@Slf4j
+@Component
+public class FeedbackTable {
+    private static final int MAGIC = 0x57464254;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+
+    private final WordDictionary wordDictionary;
+    private final boolean enabled;
+    private final String path;
+    private MappedByteBuffer table;
+
+    public FeedbackTable(WordDictionary wordDictionary,
+                         @Value("${wordle.feedback-table.enabled:false}") boolean enabled,
+                         @Value("${wordle.feedback-table.path:${java.io.tmpdir}/wordle-feedback.bin}") String path) {
+        this.wordDictionary = wordDictionary;
+        this.enabled = enabled;
+        this.path = path;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        Path file = Path.of(path);
+        try {
+            if (!isUpToDate(file)) {
+                log.info("Building feedback table at {}", file);
+                build(file);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                table = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            log.info("Mapped feedback table {} ({} bytes)", file, table.capacity());
+        } catch (IOException e) {
+            log.warn("Feedback table unavailable, scoring on the fly", e);
+            table = null;
+        }
+    }
+
+    public boolean isLoaded() {
+        return table != null;
+    }
+
+    /** Feedback code for a guess against an answer, both given as word ids. */
+    public int feedback(int answerId, int guessId) {
+        if (table != null) {
+            return table.get(offset(answerId, guessId)) & 0xFF;
+        }
+        return WordleUtils.score(wordDictionary.codeOf(answerId), wordDictionary.codeOf(guessId));
+    }
+
+    public int feedback(String word, String guess) {
+        int answerId = wordDictionary.idOf(word);
+        int guessId = wordDictionary.idOf(guess);
+        if (wordDictionary.isAnswer(answerId) && guessId >= 0) {
+            return feedback(answerId, guessId);
+        }
+        return WordleUtils.score(word, guess);
+    }
+
+    /**
+     * Read-only view of the feedback of every dictionary word against one answer,
+     * indexed by guess word id. Returns {@code null} when the table is not loaded.
+     */
+    public ByteBuffer answerRow(int answerId) {
+        if (table == null) {
+            return null;
+        }
+        return table.slice(offset(answerId, 0), wordDictionary.size()).asReadOnlyBuffer();
+    }
+
+    private int offset(int answerId, int guessId) {
+        return HEADER_SIZE + answerId * wordDictionary.size() + guessId;
+    }
+
+    private boolean isUpToDate(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (channel.read(header, 0) != HEADER_SIZE) {
+                return false;
+            }
+            header.flip();
+            return header.getInt() == MAGIC
+                    && header.getInt() == VERSION
+                    && header.getInt() == wordDictionary.answerCount()
+                    && header.getInt() == wordDictionary.size()
+                    && header.getLong() == fingerprint()
+                    && channel.size() == HEADER_SIZE + (long) wordDictionary.answerCount() * wordDictionary.size();
+        }
+    }
+
+    private void build(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, "wordle-feedback", ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(wordDictionary.answerCount())
+                    .putInt(wordDictionary.size())
+                    .putLong(fingerprint())
+                    .flip();
+            writeFully(channel, header);
+
+            ByteBuffer row = ByteBuffer.allocate(wordDictionary.size());
+            for (int answerId = 0; answerId < wordDictionary.answerCount(); answerId++) {
+                int answerCode = wordDictionary.codeOf(answerId);
+                row.clear();
+                for (int guessId = 0; guessId < wordDictionary.size(); guessId++) {
+                    row.put((byte) WordleUtils.score(answerCode, wordDictionary.codeOf(guessId)));
+                }
+                row.flip();
+                writeFully(channel, row);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private long fingerprint() {
+        long hash = 1125899906842597L;
+        for (int id = 0; id < wordDictionary.size(); id++) {
+            hash = 31 * hash + wordDictionary.codeOf(id);
+        }
+        return hash;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package abs.wordle.backend.services;
 
 import abs.wordle.backend.enums.GameStatus;
 import abs.wordle.backend.repository.GameRepository;
+import abs.wordle.backend.repository.OutboxEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -15,6 +16,7 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class GameCleanupService {
     private final GameRepository gameRepository;
+    private final OutboxEventRepository outboxEventRepository;
 
     @Scheduled(cron = "0 0 3 * * ?")
     @Transactional
@@ -33,4 +35,12 @@ public class GameCleanupService {
         int deletedCount = gameRepository.deleteAbandonedGamesOlderThan(cutoff, GameStatus.PROCEED);
         log.info("Deleted {} Abandoned Games", deletedCount);
     }
+
+    @Scheduled(cron = "0 30 * * * *")
+    @Transactional
+    public void cleanupSentOutboxEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
+        int deletedCount = outboxEventRepository.deleteSentBefore(cutoff);
+        log.info("Deleted {} sent outbox events", deletedCount);
+    }
 }
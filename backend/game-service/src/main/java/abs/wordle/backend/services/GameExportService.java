@@ -0,0 +1,116 @@
+package abs.wordle.backend.services;
+
+import abs.wordle.backend.enums.GameStatus;
+import abs.wordle.backend.enums.LetterStatus;
+import abs.wordle.backend.models.Attempt;
+import abs.wordle.backend.models.Game;
+import abs.wordle.backend.repository.GameRepository;
+import abs.wordle.backend.utils.WordleUtils;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes games as newline-delimited JSON straight from a server-side cursor.
+ * Each game is detached from the persistence context once written, so memory
+ * use does not grow with the number of exported rows.
+ */
+@Slf4j
+@Service
+public class GameExportService {
+    private final GameRepository gameRepository;
+    private final FeedbackTable feedbackTable;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public GameExportService(GameRepository gameRepository,
+                             FeedbackTable feedbackTable,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager) {
+        this.gameRepository = gameRepository;
+        this.feedbackTable = feedbackTable;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /** Streams every game whose {@code updatedAt} lies in {@code [from, to)}; either bound may be null. */
+    public long export(LocalDateTime from, LocalDateTime to, OutputStream outputStream) {
+        Long exported = readOnlyTransaction.execute(status -> {
+            try (Stream<Game> games = gameRepository.streamForExport(from, to);
+                 JsonGenerator generator = jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8)) {
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+                long count = 0;
+                Iterator<Game> iterator = games.iterator();
+                while (iterator.hasNext()) {
+                    Game game = iterator.next();
+                    writeGame(generator, game);
+                    entityManager.detach(game);
+                    if (++count % 500 == 0) {
+                        generator.flush();
+                    }
+                }
+                if (count > 0) {
+                    generator.writeRaw('\n');
+                }
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Exported {} games (updatedAt from {} to {})", exported, from, to);
+        return exported == null ? 0 : exported;
+    }
+
+    private void writeGame(JsonGenerator generator, Game game) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", game.getId());
+        if (game.getUserId() != null) {
+            generator.writeNumberField("userId", game.getUserId());
+        } else {
+            generator.writeNullField("userId");
+        }
+        // same rule as GameResponseDTO: the answer of a game still being played is never exposed
+        if (game.getGameStatus() == GameStatus.WIN || game.getGameStatus() == GameStatus.LOSE) {
+            generator.writeStringField("word", game.getWord());
+        } else {
+            generator.writeNullField("word");
+        }
+        generator.writeStringField("gameStatus", game.getGameStatus().name());
+        generator.writeNumberField("currentTry", game.getCurrentTry());
+        generator.writeStringField("updatedAt", game.getUpdatedAt() == null ? null : game.getUpdatedAt().toString());
+        generator.writeArrayFieldStart("attempts");
+        for (Attempt attempt : game.getAttempts()) {
+            // legacy attempts have no packed feedback; rescoring avoids loading their letter rows
+            int feedback = attempt.getFeedback() != null
+                    ? attempt.getFeedback()
+                    : feedbackTable.feedback(game.getWord(), attempt.getGuess());
+            generator.writeStartObject();
+            generator.writeStringField("guess", attempt.getGuess());
+            generator.writeNumberField("feedback", feedback);
+            generator.writeArrayFieldStart("letterStatuses");
+            for (LetterStatus letterStatus : WordleUtils.decodeFeedback(feedback)) {
+                generator.writeString(letterStatus.name());
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+}
@@ -1,64 +1,156 @@
 package abs.wordle.backend.services;
 
-import abs.wordle.backend.clients.UserClient;
+import abs.wordle.backend.dto.GamePageDTO;
+import abs.wordle.backend.dto.GameResponseDTO;
 import abs.wordle.backend.dto.GuessResponseDTO;
 import abs.wordle.backend.dto.UserDto;
 import abs.wordle.backend.exceptions.*;
 import abs.wordle.backend.models.Attempt;
 import abs.wordle.backend.models.Game;
-import abs.wordle.backend.models.LetterStatusEntity;
 import abs.wordle.backend.enums.GameStatus;
 import abs.wordle.backend.enums.LetterStatus;
 import abs.wordle.backend.producers.GameEventProducer;
+import abs.wordle.backend.producers.GuessEventPublisher;
 import abs.wordle.backend.repository.AttemptRepository;
 import abs.wordle.backend.repository.GameRepository;
-import abs.wordle.backend.repository.LetterStatusesRepository;
 import abs.wordle.backend.utils.WordleUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import abs.wordle.events.GuessMadeEvent;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.IOException;
-import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 public class GameService {
     private final static int MAX_CURRENT_TRY = 6;
     private final static int WORD_LENGTH = 5;
+    private final static int MAX_PAGE_SIZE = 100;
 
     private final GameEventProducer gameEventProducer;
     private final GameRepository gameRepository;
     private final AttemptRepository attemptRepository;
-    private final LetterStatusesRepository letterStatusesRepository;
-    private final UserClient userClient;
-    private final List<String> words = loadWordsFromFile();
+    private final LegacyStorage legacyStorage;
+    private final UserDirectory userDirectory;
+    private final WordDictionary wordDictionary;
+    private final FeedbackTable feedbackTable;
+    private final WriteBehindGameStore writeBehindGameStore;
+    private final TransactionTemplate transactionTemplate;
+    private final GuessEventPublisher guessEventPublisher;
 
     public Game create(Long userId) {
         if(userId != null) {
-            UserDto userDto = userClient.getUserById(userId).orElseThrow(
+            UserDto userDto = userDirectory.findById(userId).orElseThrow(
                     () -> new IllegalArgumentException("User with not found"));
-            return gameRepository.save(new Game(getRandomWord(), userDto.id()));
+            return save(new Game(getRandomWord(), userDto.id()));
         }
-        return gameRepository.save(new Game(getRandomWord()));
+        return save(new Game(getRandomWord()));
+    }
+
+    private Game save(Game game) {
+        if (!legacyStorage.isDual()) {
+            return gameRepository.save(game);
+        }
+        return transactionTemplate.execute(status -> {
+            Game saved = gameRepository.saveAndFlush(game);
+            legacyStorage.writeGame(saved);
+            return saved;
+        });
     }
 
     public Game getGameById(long id) {
+        if (writeBehindGameStore.isEnabled()) {
+            Game game = writeBehindGameStore.snapshot(id);
+            if (game != null) {
+                return game;
+            }
+        }
         return gameRepository.findById(id)
                 .orElseThrow(() -> new GameNotFoundException("Game not found"));
     }
 
-    public List<Game> findAll() {
-        return gameRepository.findAll();
+    @Transactional(readOnly = true)
+    public GamePageDTO findPage(Long afterId, GameStatus status, Long userId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Long> ids = gameRepository.findIdsAfter(afterId == null ? 0 : afterId, status, userId,
+                PageRequest.of(0, pageSize + 1));
+        boolean hasMore = ids.size() > pageSize;
+        if (hasMore) {
+            ids = ids.subList(0, pageSize);
+        }
+        List<GameResponseDTO> games = ids.isEmpty() ? List.of() : gameRepository.findAllWithAttemptsByIdIn(ids).stream()
+                .map(GameResponseDTO::new)
+                .toList();
+        return new GamePageDTO(games, hasMore ? ids.get(ids.size() - 1) : null);
     }
 
-    @Transactional
     public GuessResponseDTO processGuess(long gameId, String guess, Long userId) {
-        Game game = getGameById(gameId);
+        while (writeBehindGameStore.isEnabled()) {
+            Game game = writeBehindGameStore.acquire(gameId);
+            if (game == null) {
+                break;
+            }
+            GuessResponseDTO response = processGuessWriteBehind(game, guess, userId);
+            if (response != null) {
+                return response;
+            }
+        }
+        return transactionTemplate.execute(status -> processGuessInTransaction(getGameById(gameId), guess, userId));
+    }
+
+    private GuessResponseDTO processGuessInTransaction(Game game, String guess, Long userId) {
+        LocalDateTime previousActivity = game.getUpdatedAt();
+        int feedback = applyGuess(game, guess, userId);
+        List<LetterStatus> letterStatuses = WordleUtils.decodeFeedback(feedback);
+        saveAttempt(game, guess, feedback);
+
+        if (game.getGameStatus() != GameStatus.PROCEED && game.getUserId() != null) {
+            gameEventProducer.enqueueGameFinished(game);
+        }
+        gameRepository.save(game);
+        publishGuessMade(game, feedback, previousActivity);
+        return new GuessResponseDTO(game, guess, letterStatuses);
+    }
+
+    /** Returns {@code null} when the game was evicted before its lock was taken, to be retried on a fresh copy. */
+    private GuessResponseDTO processGuessWriteBehind(Game game, String guess, Long userId) {
+        GuessResponseDTO response;
+        CompletableFuture<Void> persisted;
+        boolean finished;
+        game.getLock().lock();
+        try {
+            if (!writeBehindGameStore.holds(game)) {
+                // evicted while this guess waited for the lock
+                return null;
+            }
+            LocalDateTime previousActivity = game.getUpdatedAt();
+            int feedback = applyGuess(game, guess, userId);
+            Attempt attempt = new Attempt();
+            attempt.setGame(game);
+            attempt.setGuess(guess);
+            attempt.setFeedback((short) feedback);
+            game.getAttempts().add(attempt);
+
+            finished = game.getGameStatus() != GameStatus.PROCEED;
+            persisted = writeBehindGameStore.append(game, attempt, finished);
+            publishGuessMade(game, feedback, previousActivity);
+            response = new GuessResponseDTO(game, guess, WordleUtils.decodeFeedback(feedback));
+        } finally {
+            game.getLock().unlock();
+        }
+        // the finished event is written to the outbox by the flush that persists this guess
+        writeBehindGameStore.awaitIfRequired(persisted, finished);
+        return response;
+    }
+
+    /** Validates a guess and advances the game state; returns the feedback code. */
+    private int applyGuess(Game game, String guess, Long userId) {
         if (!Objects.equals(game.getUserId(), userId)) {
             throw new AccessDeniedException("You are not allowed to access this game.");
         }
@@ -71,69 +163,47 @@ public class GameService {
         if (!checkGuessExist(guess)) {
             throw new InvalidGuessException("There's no such word in our dictionary");
         }
+        legacyStorage.resolveWord(game);
         game.setCurrentTry(game.getCurrentTry() + 1);
 
-        List<LetterStatus> letterStatuses = saveAttemptAndLetterStatuses(game, guess);
-
-        boolean gameWon = game.getWord().equals(guess);
-        boolean gameLost = !gameWon && game.getCurrentTry() >= MAX_CURRENT_TRY;
-
-        if (gameWon) {
+        int feedback = feedbackTable.feedback(game.getWord(), guess);
+        if (WordleUtils.isSolved(feedback)) {
             game.setGameStatus(GameStatus.WIN);
-            if (game.getUserId() != null)
-                gameEventProducer.sendGameFinishedMessage(game);
-        } else if (gameLost) {
+        } else if (game.getCurrentTry() >= MAX_CURRENT_TRY) {
             game.setGameStatus(GameStatus.LOSE);
-            if (game.getUserId() != null)
-                gameEventProducer.sendGameFinishedMessage(game);
         }
-        gameRepository.save(game);
-        return new GuessResponseDTO(game, guess, letterStatuses);
+        return feedback;
     }
 
-    private List<LetterStatus> saveAttemptAndLetterStatuses(Game game, String guess) {
-        List<LetterStatus> letterStatuses = WordleUtils.determineLetterStatuses(game.getWord(), guess);
+    private void publishGuessMade(Game game, int feedback, LocalDateTime previousActivity) {
+        if (!guessEventPublisher.isEnabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        guessEventPublisher.publish(GuessMadeEvent.newBuilder()
+                .setGameId(game.getId())
+                .setUserId(game.getUserId())
+                .setAttempt(game.getCurrentTry())
+                .setFeedback(feedback)
+                .setLatencyMillis(previousActivity == null ? null : Duration.between(previousActivity, now).toMillis())
+                .setMadeAt(System.currentTimeMillis())
+                .build());
+    }
 
+    private void saveAttempt(Game game, String guess, int feedback) {
         Attempt attempt = new Attempt();
         attempt.setGame(game);
         attempt.setGuess(guess);
-
+        attempt.setFeedback((short) feedback);
         attemptRepository.save(attempt);
-
-        List<LetterStatusEntity> letterStatusesEntities = new ArrayList<>();
-        for(int i = 0; i < letterStatuses.size(); i++) {
-            LetterStatusEntity letterStatusEntity = new LetterStatusEntity();
-            letterStatusEntity.setAttempt(attempt);
-            letterStatusEntity.setLetter(guess.charAt(i));
-            letterStatusEntity.setLetterStatus(letterStatuses.get(i));
-            letterStatusEntity.setPosition(i);
-            letterStatusesEntities.add(letterStatusEntity);
-        }
-        letterStatusesRepository.saveAll(letterStatusesEntities);
-
-        return letterStatuses;
+        legacyStorage.writeAttempts(List.of(attempt));
     }
 
     private boolean checkGuessExist(String word) {
-        return words.contains(word);
-    }
-
-    private List<String> loadWordsFromFile() {
-        try (InputStream inputStream = new ClassPathResource("words.json").getInputStream()) {
-            ObjectMapper objectMapper = new ObjectMapper();
-            List<String> words = objectMapper.readValue(inputStream,
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, String.class));
-
-            return words.stream()
-                    .map(String::toUpperCase)
-                    .collect(Collectors.toList());
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load words from file", e);
-        }
+        return wordDictionary.isAllowedGuess(word);
     }
 
     private String getRandomWord() {
-        Random random = new Random();
-        return words.get(random.nextInt(words.size()));
+        return wordDictionary.randomAnswer();
     }
 }
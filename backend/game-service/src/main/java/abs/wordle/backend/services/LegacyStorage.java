@@ -0,0 +1,105 @@
+package abs.wordle.backend.services;
+
+import abs.wordle.backend.enums.LetterStatus;
+import abs.wordle.backend.enums.StorageMode;
+import abs.wordle.backend.models.Attempt;
+import abs.wordle.backend.models.Game;
+import abs.wordle.backend.models.LetterStatusEntity;
+import abs.wordle.backend.repository.LetterStatusesRepository;
+import abs.wordle.backend.utils.WordleUtils;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the pre-compact schema readable while {@code wordle.storage.mode=DUAL}: the varchar
+ * {@code word}/{@code guess} columns and the per-letter rows are written next to the compact
+ * ones, so instances still on the old version can read what this one writes. Games those
+ * instances created have no word id yet; their word is read from the varchar column. The
+ * varchar columns are not mapped on the entities, so the final migration step can drop them.
+ */
+@Component
+public class LegacyStorage {
+    private static final String GAME_WORD_SQL = "SELECT word FROM game_schema.Game WHERE id = ?";
+    private static final String UPDATE_GAME_WORD_SQL = "UPDATE game_schema.Game SET word = ? WHERE id = ?";
+    private static final String UPDATE_ATTEMPT_GUESS_SQL = "UPDATE game_schema.Attempt SET guess = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final LetterStatusesRepository letterStatusesRepository;
+    private final WordDictionary wordDictionary;
+    private final StorageMode storageMode;
+
+    public LegacyStorage(JdbcTemplate jdbcTemplate,
+                         EntityManager entityManager,
+                         LetterStatusesRepository letterStatusesRepository,
+                         WordDictionary wordDictionary,
+                         @Value("${wordle.storage.mode:COMPACT}") StorageMode storageMode) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.letterStatusesRepository = letterStatusesRepository;
+        this.wordDictionary = wordDictionary;
+        this.storageMode = storageMode;
+    }
+
+    public boolean isDual() {
+        return storageMode == StorageMode.DUAL;
+    }
+
+    /** Writes the varchar word of a game that has been flushed in the current transaction. */
+    public void writeGame(Game game) {
+        if (isDual()) {
+            jdbcTemplate.update(UPDATE_GAME_WORD_SQL, game.getWord(), game.getId());
+        }
+    }
+
+    /**
+     * Writes the varchar guess and the letter rows of attempts saved in the current transaction.
+     * The attempts are flushed first, as the guess is set on rows Hibernate has already inserted.
+     */
+    public void writeAttempts(List<Attempt> attempts) {
+        if (!isDual() || attempts.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(UPDATE_ATTEMPT_GUESS_SQL, attempts, attempts.size(), (statement, attempt) -> {
+            statement.setString(1, attempt.getGuess());
+            statement.setLong(2, attempt.getId());
+        });
+        List<LetterStatusEntity> letterStatuses = new ArrayList<>(attempts.size() * WordleUtils.WORD_LENGTH);
+        for (Attempt attempt : attempts) {
+            List<LetterStatus> statuses = WordleUtils.decodeFeedback(attempt.getFeedback());
+            for (int i = 0; i < statuses.size(); i++) {
+                LetterStatusEntity letterStatus = new LetterStatusEntity();
+                letterStatus.setAttempt(attempt);
+                letterStatus.setLetter(attempt.getGuess().charAt(i));
+                letterStatus.setLetterStatus(statuses.get(i));
+                letterStatus.setPosition(i);
+                letterStatuses.add(letterStatus);
+            }
+        }
+        letterStatusesRepository.saveAll(letterStatuses);
+    }
+
+    /**
+     * Fills in the word of a game an old instance created after the backfill last ran. Setting it
+     * on a managed game also stores its word id.
+     */
+    public void resolveWord(Game game) {
+        if (game.getWord() != null) {
+            return;
+        }
+        if (!isDual()) {
+            throw new IllegalStateException("Game " + game.getId() + " has no word id; run the legacy storage backfill");
+        }
+        String word = jdbcTemplate.queryForObject(GAME_WORD_SQL, String.class, game.getId());
+        if (word == null || wordDictionary.idOf(word.toUpperCase()) < 0) {
+            throw new IllegalStateException("Game " + game.getId() + " has a word outside the dictionary: " + word);
+        }
+        game.setWord(word.toUpperCase());
+    }
+}
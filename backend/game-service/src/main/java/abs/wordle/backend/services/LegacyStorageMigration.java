@@ -0,0 +1,111 @@
+package abs.wordle.backend.services;
+
+import abs.wordle.backend.utils.WordleUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Backfills the compact columns (see db/compact-storage-migration.sql) from the legacy
+ * varchar word and guess columns. Walks both tables by id in batches and is safe to re-run.
+ * Runs on startup and, while the storage mode is DUAL, again every {@code backfill-interval-ms}
+ * for rows that instances still on the old schema have written since. A word or guess outside
+ * the dictionary stops the backfill with an error, as its row could never be read back.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wordle.storage.migrate-legacy", havingValue = "true")
+public class LegacyStorageMigration implements ApplicationRunner {
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WordDictionary wordDictionary;
+    private final LegacyStorage legacyStorage;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Backfilled word ids for {} games", migrateGames());
+        log.info("Backfilled guess ids and feedback for {} attempts", migrateAttempts());
+    }
+
+    @Scheduled(initialDelayString = "${wordle.storage.backfill-interval-ms:60000}",
+            fixedDelayString = "${wordle.storage.backfill-interval-ms:60000}")
+    public void backfillWhileDual() {
+        if (!legacyStorage.isDual()) {
+            return;
+        }
+        int games = migrateGames();
+        int attempts = migrateAttempts();
+        if (games > 0 || attempts > 0) {
+            log.info("Backfilled {} games and {} attempts written by legacy instances", games, attempts);
+        }
+    }
+
+    private int migrateGames() {
+        long lastId = 0;
+        int migrated = 0;
+        while (true) {
+            List<Object[]> updates = new ArrayList<>();
+            List<Long> ids = jdbcTemplate.query(
+                    "SELECT id, word FROM game_schema.Game WHERE id > ? AND word_id IS NULL AND word IS NOT NULL ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> {
+                        int wordId = requireId(rs.getString("word"), "Game", rs.getLong("id"));
+                        updates.add(new Object[]{wordId, rs.getLong("id")});
+                        return rs.getLong("id");
+                    },
+                    lastId, BATCH_SIZE);
+            if (ids.isEmpty()) {
+                return migrated;
+            }
+            jdbcTemplate.batchUpdate("UPDATE game_schema.Game SET word_id = ? WHERE id = ?", updates);
+            migrated += updates.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private int migrateAttempts() {
+        long lastId = 0;
+        int migrated = 0;
+        while (true) {
+            List<Object[]> updates = new ArrayList<>();
+            List<Long> ids = jdbcTemplate.query(
+                    "SELECT a.id, a.guess, g.word, g.word_id FROM game_schema.Attempt a JOIN game_schema.Game g ON g.id = a.game_id " +
+                            "WHERE a.id > ? AND a.guess_id IS NULL AND a.guess IS NOT NULL ORDER BY a.id LIMIT ?",
+                    (rs, rowNum) -> {
+                        String guess = rs.getString("guess").toUpperCase();
+                        // games created by compact-only instances have no varchar word
+                        String word = rs.getString("word") != null
+                                ? rs.getString("word").toUpperCase()
+                                : wordDictionary.wordOf(rs.getInt("word_id"));
+                        int guessId = requireId(guess, "Attempt", rs.getLong("id"));
+                        updates.add(new Object[]{guessId, WordleUtils.score(word, guess), rs.getLong("id")});
+                        return rs.getLong("id");
+                    },
+                    lastId, BATCH_SIZE);
+            if (ids.isEmpty()) {
+                return migrated;
+            }
+            jdbcTemplate.batchUpdate("UPDATE game_schema.Attempt SET guess_id = ?, feedback = ? WHERE id = ?", updates);
+            migrated += updates.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private int requireId(String word, String table, long rowId) {
+        int wordId = wordDictionary.idOf(word.toUpperCase());
+        if (wordId < 0) {
+            throw new IllegalStateException(table + " " + rowId + " holds a word outside the dictionary: " + word
+                    + "; add it to the dictionary or fix the row before migrating");
+        }
+        return wordId;
+    }
+}
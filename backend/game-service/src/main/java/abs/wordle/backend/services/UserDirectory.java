@@ -0,0 +1,88 @@
+package abs.wordle.backend.services;
+
+import abs.wordle.backend.clients.UserClient;
+import abs.wordle.backend.dto.UserDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Local replica of the users game-service needs to know about, fed by the user events
+ * user-service publishes. Unknown ids are remembered for a short while so repeated
+ * lookups do not hammer user-service; HTTP is only used on a cold miss.
+ */
+@Slf4j
+@Component
+public class UserDirectory {
+    private final UserClient userClient;
+    private final Cache<Long, Optional<UserDto>> users;
+    private final Counter fallbackLookups;
+
+    public UserDirectory(UserClient userClient,
+                         MeterRegistry meterRegistry,
+                         @Value("${wordle.user-directory.maximum-size:100000}") long maximumSize,
+                         @Value("${wordle.user-directory.ttl:PT6H}") Duration ttl,
+                         @Value("${wordle.user-directory.negative-ttl:PT30S}") Duration negativeTtl) {
+        this.userClient = userClient;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new PresenceExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "user-directory");
+        Gauge.builder("wordle.user_directory.hit_ratio", users, cache -> cache.stats().hitRate())
+                .register(meterRegistry);
+        Gauge.builder("wordle.user_directory.miss_ratio", users, cache -> cache.stats().missRate())
+                .register(meterRegistry);
+        this.fallbackLookups = meterRegistry.counter("wordle.user_directory.fallback_lookups");
+    }
+
+    public Optional<UserDto> findById(Long userId) {
+        Optional<UserDto> cached = users.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        // loaded outside the cache's compute so the HTTP call never runs under a map lock,
+        // which would pin a virtual thread; failures propagate and are not cached
+        fallbackLookups.increment();
+        log.debug("User {} not in directory, asking user-service", userId);
+        Optional<UserDto> loaded = userClient.getUserById(userId);
+        Optional<UserDto> raced = users.asMap().putIfAbsent(userId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    public void put(UserDto user) {
+        users.put(user.id(), Optional.of(user));
+    }
+
+    public void remove(Long userId) {
+        users.put(userId, Optional.empty());
+    }
+
+    private record PresenceExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<Long, Optional<UserDto>> {
+        @Override
+        public long expireAfterCreate(Long key, Optional<UserDto> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Optional<UserDto> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Optional<UserDto> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
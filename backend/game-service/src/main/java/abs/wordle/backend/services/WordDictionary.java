@@ -0,0 +1,127 @@
+package abs.wordle.backend.services;
+
+import abs.wordle.backend.utils.PackedWordIndex;
+import abs.wordle.backend.utils.WordleUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Answer and allowed-guess pools, stored as packed 25-bit word codes.
+ * Word ids are dense: answers take ids {@code 0..answerCount()-1},
+ * guess-only words follow them.
+ */
+@Component
+public class WordDictionary {
+    private static final String ANSWERS_RESOURCE = "words.json";
+    private static final String ALLOWED_GUESSES_RESOURCE = "allowed-guesses.json";
+
+    private final int[] codes;
+    private final int answerCount;
+    private final PackedWordIndex index;
+
+    public WordDictionary() {
+        this(loadWords(ANSWERS_RESOURCE, true), loadWords(ALLOWED_GUESSES_RESOURCE, false));
+    }
+
+    public WordDictionary(List<String> answers, List<String> allowedGuesses) {
+        PackedWordIndex index = new PackedWordIndex(answers.size() + allowedGuesses.size());
+        int[] codes = new int[answers.size() + allowedGuesses.size()];
+        int size = 0;
+        for (String answer : answers) {
+            int code = requireCode(answer);
+            if (index.put(code, size)) {
+                codes[size++] = code;
+            }
+        }
+        this.answerCount = size;
+        for (String guess : allowedGuesses) {
+            int code = requireCode(guess);
+            if (index.put(code, size)) {
+                codes[size++] = code;
+            }
+        }
+        this.codes = size == codes.length ? codes : Arrays.copyOf(codes, size);
+        this.index = index;
+    }
+
+    public boolean isAllowedGuess(String word) {
+        return index.contains(WordleUtils.encode(word));
+    }
+
+    public boolean isAllowedGuess(int code) {
+        return index.contains(code);
+    }
+
+    /** Returns the word id of {@code word}, or -1 if it is not in the dictionary. */
+    public int idOf(String word) {
+        return index.indexOf(WordleUtils.encode(word));
+    }
+
+    public int idOf(int code) {
+        return index.indexOf(code);
+    }
+
+    public boolean isAnswer(int wordId) {
+        return wordId >= 0 && wordId < answerCount;
+    }
+
+    public int codeOf(int wordId) {
+        return codes[wordId];
+    }
+
+    public String wordOf(int wordId) {
+        return WordleUtils.decode(codes[wordId]);
+    }
+
+    public int randomAnswerId() {
+        return ThreadLocalRandom.current().nextInt(answerCount);
+    }
+
+    public String randomAnswer() {
+        return wordOf(randomAnswerId());
+    }
+
+    public int answerCount() {
+        return answerCount;
+    }
+
+    public int size() {
+        return codes.length;
+    }
+
+    private static int requireCode(String word) {
+        int code = WordleUtils.encode(word);
+        if (code < 0) {
+            throw new IllegalArgumentException("Not a five-letter word: " + word);
+        }
+        return code;
+    }
+
+    private static List<String> loadWords(String resource, boolean required) {
+        ClassPathResource classPathResource = new ClassPathResource(resource);
+        if (!required && !classPathResource.exists()) {
+            return List.of();
+        }
+        try (InputStream inputStream = classPathResource.getInputStream()) {
+            ObjectMapper objectMapper = new ObjectMapper();
+            List<String> words = objectMapper.readValue(inputStream,
+                    objectMapper.getTypeFactory().constructCollectionType(List.class, String.class));
+
+            List<String> upperCased = new ArrayList<>(words.size());
+            for (String word : words) {
+                upperCased.add(word.toUpperCase());
+            }
+            return upperCased;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load words from " + resource, e);
+        }
+    }
+}
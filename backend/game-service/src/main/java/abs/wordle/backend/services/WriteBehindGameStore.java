@@ -0,0 +1,401 @@
+package abs.wordle.backend.services;
+
+import abs.wordle.backend.enums.GameStatus;
+import abs.wordle.backend.enums.WriteBehindDurability;
+import abs.wordle.backend.models.Attempt;
+import abs.wordle.backend.models.Game;
+import abs.wordle.backend.producers.GameEventProducer;
+import abs.wordle.backend.repository.AttemptRepository;
+import abs.wordle.backend.repository.GameRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Opt-in write-behind store for games in progress. While enabled, the in-memory copy of a
+ * {@link GameStatus#PROCEED} game is authoritative: guesses mutate it and append the new
+ * attempt to a bounded queue, and a single flusher thread writes the queue to the database
+ * in batches every {@code flush-interval} or {@code batch-size} records, whichever comes first.
+ * Guesses that finish a game are flushed immediately and the caller waits for the commit.
+ * A game is only evicted from memory once none of its writes are queued, and a game whose writes
+ * could not be stored is evicted at once, so the next guess reloads what the database really holds.
+ */
+@Slf4j
+@Component
+public class WriteBehindGameStore {
+    private static final int MAX_FLUSH_RETRIES = 3;
+    // as long as stop() waits for the flusher; a guess never waits longer for its write
+    private static final long PERSIST_TIMEOUT_SECONDS = 30;
+
+    private final GameRepository gameRepository;
+    private final AttemptRepository attemptRepository;
+    private final GameEventProducer gameEventProducer;
+    private final LegacyStorage legacyStorage;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final WriteBehindDurability durability;
+    private final long idleTimeoutMinutes;
+
+    private final Map<Long, Game> games = new ConcurrentHashMap<>();
+    // queued writes per game id; a game with queued writes is never evicted
+    private final Map<Long, Integer> pendingWrites = new ConcurrentHashMap<>();
+    // copies whose writes were dropped, compared by identity; their later writes are failed rather
+    // than stored on top of a gap. Weak keys let an abandoned copy go once nothing refers to it
+    private final Cache<Game, Boolean> abandoned = Caffeine.newBuilder().weakKeys().build();
+    private final BlockingQueue<PendingWrite> queue;
+    private volatile boolean running;
+    private Thread flusher;
+    private Timer flushTimer;
+    private DistributionSummary batchSizes;
+    private Counter failedWrites;
+
+    public WriteBehindGameStore(GameRepository gameRepository,
+                                AttemptRepository attemptRepository,
+                                GameEventProducer gameEventProducer,
+                                LegacyStorage legacyStorage,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${wordle.write-behind.enabled:false}") boolean enabled,
+                                @Value("${wordle.write-behind.queue-capacity:10000}") int queueCapacity,
+                                @Value("${wordle.write-behind.batch-size:500}") int batchSize,
+                                @Value("${wordle.write-behind.flush-interval-ms:50}") long flushIntervalMs,
+                                @Value("${wordle.write-behind.durability:ASYNC}") WriteBehindDurability durability,
+                                @Value("${wordle.write-behind.idle-timeout-minutes:60}") long idleTimeoutMinutes) {
+        this.gameRepository = gameRepository;
+        this.attemptRepository = attemptRepository;
+        this.gameEventProducer = gameEventProducer;
+        this.legacyStorage = legacyStorage;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.durability = durability;
+        this.idleTimeoutMinutes = idleTimeoutMinutes;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("wordle.write_behind.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("wordle.write_behind.games", games, Map::size).register(meterRegistry);
+        flushTimer = Timer.builder("wordle.write_behind.flush.latency").register(meterRegistry);
+        batchSizes = DistributionSummary.builder("wordle.write_behind.flush.batch_size").register(meterRegistry);
+        failedWrites = Counter.builder("wordle.write_behind.failed_writes").register(meterRegistry);
+
+        running = true;
+        flusher = new Thread(this::runFlusher, "write-behind-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Write-behind enabled: batch {} / {} ms, durability {}", batchSize, flushIntervalMs, durability);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** The authoritative copy of a game in progress, loading it on first use; {@code null} if it is not in progress. */
+    public Game acquire(long gameId) {
+        Game game = games.get(gameId);
+        if (game != null) {
+            return game;
+        }
+        Game loaded = transactionTemplate.execute(status -> gameRepository.findById(gameId)
+                .filter(g -> g.getGameStatus() == GameStatus.PROCEED)
+                .map(g -> {
+                    Hibernate.initialize(g.getAttempts());
+                    return g;
+                })
+                .orElse(null));
+        if (loaded == null) {
+            return null;
+        }
+        Game existing = games.putIfAbsent(gameId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * A copy of a cached game taken under its lock, safe to serialize while guesses go on;
+     * {@code null} if the game is not cached.
+     */
+    public Game snapshot(long gameId) {
+        Game game = games.get(gameId);
+        if (game == null) {
+            return null;
+        }
+        game.getLock().lock();
+        try {
+            Game copy = new Game(game.getWord(), game.getUserId());
+            copy.setId(game.getId());
+            copy.setCurrentTry(game.getCurrentTry());
+            copy.setGameStatus(game.getGameStatus());
+            copy.setUpdatedAt(game.getUpdatedAt());
+            copy.setAttempts(new ArrayList<>(game.getAttempts()));
+            return copy;
+        } finally {
+            game.getLock().unlock();
+        }
+    }
+
+    /**
+     * Whether {@code game} is still the cached copy. Checked under the game's lock before a guess:
+     * eviction also takes the lock, so a copy that passes cannot be evicted before its write is queued.
+     */
+    public boolean holds(Game game) {
+        return games.get(game.getId()) == game;
+    }
+
+    /**
+     * Queues a new attempt of {@code game}. Must be called while holding the game's lock so
+     * attempts of one game are queued in order. Blocks while the queue is full.
+     */
+    public CompletableFuture<Void> append(Game game, Attempt attempt, boolean finished) {
+        game.setUpdatedAt(LocalDateTime.now());
+        PendingWrite write = new PendingWrite(game, attempt, finished || durability == WriteBehindDurability.SYNC);
+        pendingWrites.merge(game.getId(), 1, Integer::sum);
+        try {
+            queue.put(write);
+        } catch (InterruptedException e) {
+            settled(write);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing guess", e);
+        }
+        return write.persisted;
+    }
+
+    /** Waits for a queued write when the game finished or the store runs with SYNC durability. */
+    public void awaitIfRequired(CompletableFuture<Void> persisted, boolean finished) {
+        if (!finished && durability == WriteBehindDurability.ASYNC) {
+            return;
+        }
+        try {
+            persisted.get(PERSIST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for guess to be persisted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to persist guess", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Failed to persist guess", e);
+        }
+    }
+
+    @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.MINUTES)
+    public void evictIdleGames() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(idleTimeoutMinutes);
+        for (Game game : games.values()) {
+            if (game.getUpdatedAt() == null || !game.getUpdatedAt().isBefore(cutoff) || !game.getLock().tryLock()) {
+                continue;
+            }
+            try {
+                if (!pendingWrites.containsKey(game.getId())) {
+                    games.remove(game.getId(), game);
+                }
+            } finally {
+                game.getLock().unlock();
+            }
+        }
+    }
+
+    private void runFlusher() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        int retries = 0;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    collect(batch);
+                }
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                failAbandoned(batch);
+                if (!batch.isEmpty()) {
+                    flushTimer.record(() -> write(batch));
+                }
+                batch.forEach(write -> {
+                    settled(write);
+                    write.persisted.complete(null);
+                });
+                batch.clear();
+                retries = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // nothing flushes after this, so every write in hand or queued fails now
+                queue.drainTo(batch);
+                if (!batch.isEmpty()) {
+                    log.error("Write-behind flusher interrupted, dropping {} records", batch.size());
+                    drop(batch, new IllegalStateException("Write-behind flusher interrupted", e));
+                }
+                return;
+            } catch (RuntimeException e) {
+                // ids handed out inside the rolled back transaction are not in the database
+                batch.forEach(write -> write.attempt.setId(null));
+                if (++retries <= MAX_FLUSH_RETRIES) {
+                    log.warn("Write-behind flush of {} records failed, retry {}", batch.size(), retries, e);
+                    sleepQuietly(flushIntervalMs * retries);
+                    continue;
+                }
+                log.error("Dropping {} write-behind records after {} retries", batch.size(), MAX_FLUSH_RETRIES, e);
+                drop(batch, e);
+                retries = 0;
+            }
+        }
+    }
+
+    private void drop(List<PendingWrite> batch, Exception cause) {
+        failedWrites.increment(batch.size());
+        for (PendingWrite write : batch) {
+            // the cached copy is ahead of the database now; drop it and its queued writes
+            abandoned.put(write.game, Boolean.TRUE);
+            games.remove(write.game.getId(), write.game);
+            settled(write);
+            write.persisted.completeExceptionally(cause);
+        }
+        batch.clear();
+    }
+
+    private void failAbandoned(List<PendingWrite> batch) {
+        batch.removeIf(write -> {
+            if (abandoned.getIfPresent(write.game) == null) {
+                return false;
+            }
+            failedWrites.increment();
+            settled(write);
+            write.persisted.completeExceptionally(
+                    new IllegalStateException("An earlier guess of game " + write.game.getId() + " could not be stored"));
+            return true;
+        });
+    }
+
+    // called before a write's future completes, so a caller woken by it never sees the write as queued
+    private void settled(PendingWrite write) {
+        pendingWrites.computeIfPresent(write.game.getId(), (id, count) -> count == 1 ? null : count - 1);
+    }
+
+    private void collect(List<PendingWrite> batch) throws InterruptedException {
+        PendingWrite first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        boolean urgent = first.urgent;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (!urgent && batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            urgent = next.urgent;
+        }
+        queue.drainTo(batch, batchSize - batch.size());
+    }
+
+    private void write(List<PendingWrite> batch) {
+        batchSizes.record(batch.size());
+        Map<Long, Game> latest = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            latest.put(write.game.getId(), write.game);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Game> managed = new LinkedHashMap<>();
+            for (Game game : gameRepository.findAllById(latest.keySet())) {
+                managed.put(game.getId(), game);
+            }
+            List<Attempt> attempts = new ArrayList<>(batch.size());
+            for (PendingWrite write : batch) {
+                if (managed.containsKey(write.game.getId())) {
+                    attempts.add(write.attempt);
+                } else if (games.remove(write.game.getId()) != null) {
+                    log.warn("Game {} was deleted before its guesses were flushed", write.game.getId());
+                }
+            }
+            for (Game game : managed.values()) {
+                Game current = latest.get(game.getId());
+                boolean wasInProgress = game.getGameStatus() == GameStatus.PROCEED;
+                current.getLock().lock();
+                try {
+                    game.setCurrentTry(current.getCurrentTry());
+                    game.setGameStatus(current.getGameStatus());
+                } finally {
+                    current.getLock().unlock();
+                }
+                if (wasInProgress && game.getGameStatus() != GameStatus.PROCEED && game.getUserId() != null) {
+                    gameEventProducer.enqueueGameFinished(game);
+                }
+            }
+            attemptRepository.saveAll(attempts);
+            legacyStorage.writeAttempts(attempts);
+        });
+        for (Game game : latest.values()) {
+            if (game.getGameStatus() != GameStatus.PROCEED) {
+                games.remove(game.getId(), game);
+            }
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class PendingWrite {
+        private final Game game;
+        private final Attempt attempt;
+        private final boolean urgent;
+        private final CompletableFuture<Void> persisted = new CompletableFuture<>();
+
+        private PendingWrite(Game game, Attempt attempt, boolean urgent) {
+            this.game = game;
+            this.attempt = attempt;
+            this.urgent = urgent;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package abs.wordle.backend.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer (Vyukov's bounded queue).
+ * Each slot carries a sequence number that tells producers whether it is free and the consumer
+ * whether it is filled, so producers only contend on one CAS of the tail and never wait:
+ * {@link #offer} fails instead of blocking when the buffer is full.
+ */
+public final class MpscRingBuffer<E> {
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // written only by the consumer; volatile so size() can be read from other threads
+    private volatile long head;
+
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2");
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /** Adds an element; returns false without waiting if the buffer is full. Safe for any thread. */
+    public boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long distance = sequences.get(index) - position;
+            if (distance == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (distance < 0) {
+                return false;
+            }
+            // another producer claimed the slot first; retry with the new tail
+        }
+    }
+
+    /** Hands up to {@code max} elements to {@code sink}; returns how many. Consumer thread only. */
+    public int drain(Consumer<? super E> sink, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            E element = slots.get(index);
+            slots.lazySet(index, null);
+            sequences.set(index, position + capacity());
+            head = ++position;
+            drained++;
+            sink.accept(element);
+        }
+        return drained;
+    }
+
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,68 @@
+package abs.wordle.backend.utils;
+
+/**
+ * Open-addressing hash index from a packed word code (see {@link WordleUtils#encode(String)})
+ * to its position in the dictionary. Code {@code 0} is never produced by the encoder,
+ * so it marks an empty slot. Lookups do not allocate.
+ */
+public final class PackedWordIndex {
+    private final int[] keys;
+    private final int[] values;
+    private final int mask;
+    private int size;
+
+    public PackedWordIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2) - 1) << 1;
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public boolean put(int code, int index) {
+        if (code <= 0) {
+            throw new IllegalArgumentException("Invalid word code: " + code);
+        }
+        if (size * 2 >= keys.length) {
+            throw new IllegalStateException("Index is full");
+        }
+        int slot = mix(code) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == code) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = code;
+        values[slot] = index;
+        size++;
+        return true;
+    }
+
+    public int indexOf(int code) {
+        if (code <= 0) {
+            return -1;
+        }
+        int slot = mix(code) & mask;
+        int key;
+        while ((key = keys[slot]) != 0) {
+            if (key == code) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public boolean contains(int code) {
+        return indexOf(code) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int mix(int code) {
+        int h = code * 0x9E3779B1;
+        return h ^ (h >>> 16);
+    }
+}
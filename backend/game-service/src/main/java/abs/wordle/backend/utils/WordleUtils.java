@@ -3,44 +3,114 @@ package abs.wordle.backend.utils;
 import abs.wordle.backend.enums.LetterStatus;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
 public class WordleUtils {
+    public static final int WORD_LENGTH = 5;
+    private static final int BITS_PER_LETTER = 5;
+    private static final int LETTER_MASK = (1 << BITS_PER_LETTER) - 1;
+    private static final int[] POWERS_OF_THREE = {1, 3, 9, 27, 81};
+
+    public static final int FEEDBACK_CODES = 243;
+    public static final int ALL_CORRECT = FEEDBACK_CODES - 1;
+    private static final List<List<LetterStatus>> DECODED_FEEDBACK = decodeAllFeedback();
+
     private WordleUtils() {}
 
-    public static List<LetterStatus> determineLetterStatuses(String word, String guess) {
-        List<LetterStatus> letterStatuses = new ArrayList<>();
-        HashMap<Character, Integer> letterCounts = new HashMap<>();
+    /**
+     * Packs a five-letter upper-case word into 25 bits, 5 bits per letter ('A' = 1 .. 'Z' = 26).
+     * Returns -1 if the word is not exactly five letters A-Z.
+     */
+    public static int encode(String word) {
+        if (word == null || word.length() != WORD_LENGTH) {
+            return -1;
+        }
+        int code = 0;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            char c = word.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return -1;
+            }
+            code |= (c - 'A' + 1) << (i * BITS_PER_LETTER);
+        }
+        return code;
+    }
 
-        for(char c : word.toCharArray()) {
-            letterCounts.put(c, letterCounts.getOrDefault(c, 0) + 1);
+    public static String decode(int code) {
+        char[] letters = new char[WORD_LENGTH];
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            letters[i] = (char) ('A' - 1 + ((code >>> (i * BITS_PER_LETTER)) & LETTER_MASK));
         }
+        return new String(letters);
+    }
+
+    /**
+     * Scores {@code guess} against {@code word} and decodes the result. Prefer {@link #score(int, int)}
+     * on hot paths and decode only when the statuses leave the service.
+     */
+    public static List<LetterStatus> determineLetterStatuses(String word, String guess) {
+        return decodeFeedback(score(word, guess));
+    }
 
-        for(int i = 0; i < word.length(); i++) {
-            if(word.charAt(i) == guess.charAt(i)) {
-                letterStatuses.add(LetterStatus.CORRECT);
-                letterCounts.put(word.charAt(i), letterCounts.get(word.charAt(i)) - 1);
+    public static int score(String word, String guess) {
+        return score(encode(word), encode(guess));
+    }
+
+    /**
+     * Scores two packed words and returns the feedback as a base-3 code in {@code 0..242}:
+     * digit {@code i} (weight 3^i) is 0 for INCORRECT, 1 for MISPLACED and 2 for CORRECT.
+     * Greens are matched first, then misplaced letters left to right against the unmatched
+     * answer letters, so repeated letters are only credited as often as they occur.
+     * Works entirely on primitives and does not allocate.
+     */
+    public static int score(int wordCode, int guessCode) {
+        int matched = 0;
+        for (int i = 0, shift = 0; i < WORD_LENGTH; i++, shift += BITS_PER_LETTER) {
+            if (((wordCode >>> shift) & LETTER_MASK) == ((guessCode >>> shift) & LETTER_MASK)) {
+                matched |= 1 << i;
             }
-            else
-                letterStatuses.add(null);
         }
 
-        for(int i = 0; i < word.length(); i++) {
-            if (letterStatuses.get(i) == null) {
-                int guessChar = word.indexOf(guess.charAt(i));
-                if(guessChar == -1)
-                    letterStatuses.set(i, LetterStatus.INCORRECT);
-                else if (letterCounts.get(guess.charAt(i)) > 0) {
-                    letterStatuses.set(i, LetterStatus.MISPLACED);
-                    letterCounts.put(guess.charAt(i), letterCounts.get(guess.charAt(i)) - 1);
+        int feedback = 0;
+        int greens = matched;
+        for (int i = 0, shift = 0; i < WORD_LENGTH; i++, shift += BITS_PER_LETTER) {
+            if ((greens & (1 << i)) != 0) {
+                feedback += 2 * POWERS_OF_THREE[i];
+                continue;
+            }
+            int letter = (guessCode >>> shift) & LETTER_MASK;
+            for (int j = 0, answerShift = 0; j < WORD_LENGTH; j++, answerShift += BITS_PER_LETTER) {
+                if ((matched & (1 << j)) == 0 && ((wordCode >>> answerShift) & LETTER_MASK) == letter) {
+                    matched |= 1 << j;
+                    feedback += POWERS_OF_THREE[i];
+                    break;
                 }
-                else
-                    letterStatuses.set(i, LetterStatus.INCORRECT);
             }
         }
+        return feedback;
+    }
+
+    public static boolean isSolved(int feedback) {
+        return feedback == ALL_CORRECT;
+    }
+
+    /** Returns the statuses for a feedback code. The returned list is shared and immutable. */
+    public static List<LetterStatus> decodeFeedback(int feedback) {
+        return DECODED_FEEDBACK.get(feedback);
+    }
 
-        System.out.println(letterStatuses);
-        return letterStatuses;
+    private static List<List<LetterStatus>> decodeAllFeedback() {
+        LetterStatus[] digits = {LetterStatus.INCORRECT, LetterStatus.MISPLACED, LetterStatus.CORRECT};
+        List<List<LetterStatus>> decoded = new ArrayList<>(FEEDBACK_CODES);
+        for (int feedback = 0; feedback < FEEDBACK_CODES; feedback++) {
+            LetterStatus[] statuses = new LetterStatus[WORD_LENGTH];
+            int rest = feedback;
+            for (int i = 0; i < WORD_LENGTH; i++) {
+                statuses[i] = digits[rest % 3];
+                rest /= 3;
+            }
+            decoded.add(List.of(statuses));
+        }
+        return List.copyOf(decoded);
     }
 }
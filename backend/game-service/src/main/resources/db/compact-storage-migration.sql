@@ -0,0 +1,28 @@
+-- Moves an existing game_schema from per-letter rows to compact attempts.
+-- Only needed when spring.jpa.hibernate.ddl-auto does not recreate the schema.
+--
+-- 1. Add the compact columns (safe to run on a live database):
+ALTER TABLE game_schema.Game ADD COLUMN IF NOT EXISTS word_id smallint;
+ALTER TABLE game_schema.Attempt ADD COLUMN IF NOT EXISTS guess_id smallint;
+ALTER TABLE game_schema.Attempt ADD COLUMN IF NOT EXISTS feedback smallint;
+
+-- Game, Attempt and LetterStatusEntity keep the sequences Hibernate created for
+-- the old instances (Game_SEQ, Attempt_SEQ, LetterStatusEntity_SEQ, increment
+-- 50) and the same pooled optimizer, so old and new instances hand out disjoint
+-- id blocks. Another optimizer, such as pooled-lo, reads nextval as the other
+-- end of the block, and the blocks of old and new instances would
+-- overlap. Changing the optimizer therefore needs a full stop of every
+-- instance, not a rolling deploy.
+--
+-- 2. Deploy with wordle.storage.mode=DUAL and wordle.storage.migrate-legacy=true.
+--    LegacyStorageMigration fills word_id, guess_id and feedback from the old
+--    varchar columns in batches on startup, and again every
+--    wordle.storage.backfill-interval-ms for rows old instances keep writing.
+--    DUAL instances also write the varchar columns and LetterStatusEntity rows,
+--    so old instances can read their games. The backfill stops with an error on
+--    a word outside the dictionary; fix such rows before going on.
+--
+-- 3. Once every instance runs COMPACT and the backfill has finished:
+-- ALTER TABLE game_schema.Game DROP COLUMN word;
+-- ALTER TABLE game_schema.Attempt DROP COLUMN guess;
+-- DROP TABLE game_schema.LetterStatusEntity;
@@ -0,0 +1,110 @@
+package abs.wordle.backend;
+
+import abs.wordle.backend.services.FeedbackTable;
+import abs.wordle.backend.services.WordDictionary;
+import abs.wordle.backend.utils.WordleUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FeedbackTableUnitTest {
+    private static final int HEADER_SIZE = 24;
+
+    @TempDir
+    private Path directory;
+
+    private final WordDictionary dictionary = new WordDictionary(
+            List.of("GRAVE", "CRANE", "LLAMA"),
+            List.of("SLOTH", "EERIE", "ALLOY", "GRAVE"));
+
+    @Test
+    void load_shouldBuildATableMatchingScore_forEveryAnswerAndGuess() throws IOException {
+        //arrange
+        Path file = directory.resolve("feedback.bin");
+        FeedbackTable table = new FeedbackTable(dictionary, true, file.toString());
+        //act
+        table.load();
+        //assert
+        assertTrue(table.isLoaded());
+        for (int answerId = 0; answerId < dictionary.answerCount(); answerId++) {
+            ByteBuffer row = table.answerRow(answerId);
+            for (int guessId = 0; guessId < dictionary.size(); guessId++) {
+                int expected = WordleUtils.score(dictionary.codeOf(answerId), dictionary.codeOf(guessId));
+                assertEquals(expected, table.feedback(answerId, guessId));
+                assertEquals(expected, row.get(guessId) & 0xFF);
+            }
+        }
+        assertEquals(HEADER_SIZE + (long) dictionary.answerCount() * dictionary.size(), Files.size(file));
+        // the table is written to a temporary file and renamed into place, nothing else is left behind
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    void load_shouldMapAnExistingTable_withoutRebuildingIt() throws IOException {
+        //arrange
+        Path file = directory.resolve("feedback.bin");
+        new FeedbackTable(dictionary, true, file.toString()).load();
+        overwriteFirstEntry(file, (byte) 7);
+        FeedbackTable table = new FeedbackTable(dictionary, true, file.toString());
+        //act
+        table.load();
+        //assert: the planted byte survives, so the file was reused as is
+        assertEquals(7, table.feedback(0, 0));
+    }
+
+    @Test
+    void load_shouldRebuild_whenTheHeaderDescribesAnotherDictionary() throws IOException {
+        //arrange
+        Path file = directory.resolve("feedback.bin");
+        new FeedbackTable(dictionary, true, file.toString()).load();
+        overwriteFirstEntry(file, (byte) 7);
+        // same shape, different words: only the fingerprint tells the tables apart
+        WordDictionary other = new WordDictionary(
+                List.of("SLOTH", "CRANE", "LLAMA"),
+                List.of("GRAVE", "EERIE", "ALLOY", "PLANT"));
+        FeedbackTable table = new FeedbackTable(other, true, file.toString());
+        //act
+        table.load();
+        //assert
+        for (int answerId = 0; answerId < other.answerCount(); answerId++) {
+            for (int guessId = 0; guessId < other.size(); guessId++) {
+                assertEquals(WordleUtils.score(other.codeOf(answerId), other.codeOf(guessId)),
+                        table.feedback(answerId, guessId));
+            }
+        }
+    }
+
+    @Test
+    void load_shouldRebuild_whenTheFileIsTruncated() throws IOException {
+        //arrange
+        Path file = directory.resolve("feedback.bin");
+        new FeedbackTable(dictionary, true, file.toString()).load();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(HEADER_SIZE + 3);
+        }
+        FeedbackTable table = new FeedbackTable(dictionary, true, file.toString());
+        //act
+        table.load();
+        //assert
+        assertEquals(HEADER_SIZE + (long) dictionary.answerCount() * dictionary.size(), Files.size(file));
+        assertEquals(WordleUtils.ALL_CORRECT, table.feedback("LLAMA", "LLAMA"));
+    }
+
+    private static void overwriteFirstEntry(Path file, byte value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{value}), HEADER_SIZE);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package abs.wordle.backend;
+
+import abs.wordle.backend.dto.GamePageDTO;
+import abs.wordle.backend.dto.GuessResponseDTO;
+import abs.wordle.backend.dto.UserDto;
+import abs.wordle.backend.enums.GameStatus;
+import abs.wordle.backend.enums.StorageMode;
+import abs.wordle.backend.models.Attempt;
+import abs.wordle.backend.models.Game;
+import abs.wordle.backend.producers.GameEventProducer;
+import abs.wordle.backend.producers.GuessEventPublisher;
+import abs.wordle.backend.producers.OutboxRelay;
+import abs.wordle.backend.repository.GameRepository;
+import abs.wordle.backend.repository.OutboxEventRepository;
+import abs.wordle.backend.services.FeedbackTable;
+import abs.wordle.backend.services.GameExportService;
+import abs.wordle.backend.services.GameService;
+import abs.wordle.backend.services.LegacyStorage;
+import abs.wordle.backend.services.UserDirectory;
+import abs.wordle.backend.services.WordDictionary;
+import abs.wordle.backend.services.WriteBehindGameStore;
+import abs.wordle.events.GameFinishedEvent;
+import abs.wordle.events.GameResult;
+import abs.wordle.events.serialization.AvroEventCodec;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // the legacy varchar columns are added after Hibernate creates the compact schema
+        "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.data-locations=classpath:legacy-storage-columns.sql"
+})
+@Import({GameService.class, LegacyStorage.class, GameExportService.class, GameEventProducer.class, WordDictionary.class, FeedbackTable.class})
+public class GamePersistenceIntegrationTest {
+    private static final Long USER_ID = 7L;
+
+    @Autowired
+    private GameService gameService;
+    @Autowired
+    private GameExportService gameExportService;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private LegacyStorage legacyStorage;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockitoBean
+    private OutboxRelay outboxRelay;
+    @MockitoBean
+    private GuessEventPublisher guessEventPublisher;
+    @MockitoBean
+    private UserDirectory userDirectory;
+    @MockitoBean
+    private WriteBehindGameStore writeBehindGameStore;
+
+    private Statistics statistics;
+    private Long gameId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        gameId = gameRepository.save(new Game("GRAVE", USER_ID)).getId();
+        // first guess warms up the pooled attempt id block; COMPACT writes no letter-status rows
+        gameService.processGuess(gameId, "CRANE", USER_ID);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void processGuess_shouldCostThreeStatements_inCompactMode() {
+        //act
+        gameService.processGuess(gameId, "SLOTH", USER_ID);
+        entityManager.flush();
+        //assert: select game, insert attempt, update game
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    void processGuess_shouldBatchLetterStatusInserts_inDualMode() {
+        //arrange: a first DUAL guess warms up the letter-status id block, which setUp's COMPACT guess never touches
+        ReflectionTestUtils.setField(legacyStorage, "storageMode", StorageMode.DUAL);
+        gameService.processGuess(gameId, "SLOTH", USER_ID);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        //act
+        gameService.processGuess(gameId, "CRANE", USER_ID);
+        entityManager.flush();
+        //assert: select game, insert attempt, update game, one batched insert for five letter rows;
+        // the legacy guess column is set through JdbcTemplate, which Hibernate does not count
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(6, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void dualMode_shouldWriteLegacyColumns_soOldInstancesCanReadTheGame() {
+        //arrange
+        ReflectionTestUtils.setField(legacyStorage, "storageMode", StorageMode.DUAL);
+        when(userDirectory.findById(USER_ID)).thenReturn(Optional.of(new UserDto(USER_ID, "test")));
+        //act
+        Long createdId = gameService.create(USER_ID).getId();
+        String word = gameRepository.findById(createdId).orElseThrow().getWord();
+        gameService.processGuess(createdId, "SLOTH", USER_ID);
+        entityManager.flush();
+        //assert
+        assertEquals(word, jdbcTemplate.queryForObject(
+                "SELECT word FROM game_schema.Game WHERE id = ?", String.class, createdId));
+        assertEquals("SLOTH", jdbcTemplate.queryForObject(
+                "SELECT a.guess FROM game_schema.Attempt a WHERE a.game_id = ?", String.class, createdId));
+        assertEquals(5, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM game_schema.LetterStatusEntity l JOIN game_schema.Attempt a ON a.id = l.attempt_id " +
+                        "WHERE a.game_id = ?", Integer.class, createdId));
+    }
+
+    @Test
+    void dualMode_shouldReadTheWordOfAGameAnOldInstanceCreated() {
+        //arrange: an old instance writes only the varchar column
+        ReflectionTestUtils.setField(legacyStorage, "storageMode", StorageMode.DUAL);
+        jdbcTemplate.update("INSERT INTO game_schema.Game (id, word, userId, currentTry, gameStatus) VALUES (?, ?, ?, 0, 0)",
+                900_000L, "grave", USER_ID);
+        //act
+        GuessResponseDTO response = gameService.processGuess(900_000L, "GRAVE", USER_ID);
+        entityManager.flush();
+        //assert: scored against the legacy word, which now also has a word id
+        assertEquals(GameStatus.WIN, response.getGameStatus());
+        assertNotNull(jdbcTemplate.queryForObject("SELECT word_id FROM game_schema.Game WHERE id = ?", Short.class, 900_000L));
+    }
+
+    @Test
+    void processGuess_shouldReadBackCompactAttempt() {
+        //act
+        gameService.processGuess(gameId, "SLOTH", USER_ID);
+        entityManager.flush();
+        entityManager.clear();
+        //assert
+        Game game = gameRepository.findById(gameId).orElseThrow();
+        assertEquals("GRAVE", game.getWord());
+        assertEquals(2, game.getAttempts().size());
+        assertEquals("SLOTH", game.getAttempts().get(1).getGuess());
+        assertEquals(5, game.getAttempts().get(1).getLetterStatuses().size());
+    }
+
+    @Test
+    void processGuess_shouldWriteOutboxEvent_inGameTransaction_whenGameIsWon() {
+        //act
+        gameService.processGuess(gameId, "GRAVE", USER_ID);
+        entityManager.flush();
+        //assert: the event is a row committed with the game, Kafka is not touched on the request path
+        assertEquals(1, outboxEventRepository.count());
+        assertEquals(GameEventProducer.GAME_FINISHED_TOPIC, outboxEventRepository.findAll().get(0).getTopic());
+        GameFinishedEvent event = AvroEventCodec.shared().decode(outboxEventRepository.findAll().get(0).getPayload());
+        assertEquals(GameResult.WIN, event.getResult());
+        assertEquals(2, event.getAttempts());
+        assertNotNull(event.getFinishedAt());
+        assertEquals(USER_ID.toString(), outboxEventRepository.findAll().get(0).getMessageKey());
+        assertNull(outboxEventRepository.findAll().get(0).getSentAt());
+    }
+
+    @Test
+    void findPage_shouldCostTwoStatements_regardlessOfPageSize() {
+        //arrange
+        for (int i = 0; i < 12; i++) {
+            Long id = gameRepository.save(new Game("GRAVE", USER_ID)).getId();
+            gameService.processGuess(id, "CRANE", USER_ID);
+            gameService.processGuess(id, "SLOTH", USER_ID);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        //act
+        GamePageDTO page = gameService.findPage(null, GameStatus.PROCEED, USER_ID, 10);
+        page.getGames().forEach(game -> game.getAttempts().forEach(Attempt::getLetterStatuses));
+        //assert: one id seek plus one fetch of games with attempts
+        assertEquals(10, page.getGames().size());
+        assertNotNull(page.getNextCursor());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        //act
+        entityManager.clear();
+        statistics.clear();
+        GamePageDTO nextPage = gameService.findPage(page.getNextCursor(), GameStatus.PROCEED, USER_ID, 10);
+        //assert: the last page holds the remaining games, at the same cost
+        assertEquals(3, nextPage.getGames().size());
+        assertNull(nextPage.getNextCursor());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertTrue(nextPage.getGames().get(0).getId() > page.getNextCursor());
+    }
+
+    @Test
+    void export_shouldWriteOneJsonLinePerGame_withinUpdatedAtWindow() {
+        //arrange
+        Long otherId = gameRepository.save(new Game("CRANE", USER_ID)).getId();
+        gameService.processGuess(otherId, "CRANE", USER_ID);
+        entityManager.flush();
+        entityManager.clear();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        //act
+        long exported = gameExportService.export(LocalDateTime.now().minusHours(1), null, outputStream);
+        //assert
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":" + gameId + ","));
+        assertTrue(lines[0].contains("\"attempts\":[{\"guess\":\"CRANE\""));
+        assertTrue(lines[1].contains("\"gameStatus\":\"WIN\""));
+        assertTrue(lines[1].contains("\"feedback\":242"));
+
+        //act
+        long none = gameExportService.export(null, LocalDateTime.now().minusHours(1), new ByteArrayOutputStream());
+        //assert
+        assertEquals(0, none);
+    }
+
+    @Test
+    void export_shouldNotWriteTheWord_ofGamesInProgress() {
+        //arrange
+        Long wonId = gameRepository.save(new Game("CRANE", USER_ID)).getId();
+        gameService.processGuess(wonId, "CRANE", USER_ID);
+        entityManager.flush();
+        entityManager.clear();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        //act
+        gameExportService.export(null, null, outputStream);
+        //assert
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertTrue(lines[0].contains("\"gameStatus\":\"PROCEED\""));
+        assertTrue(lines[0].contains("\"word\":null"));
+        assertFalse(lines[0].contains("GRAVE"));
+        assertTrue(lines[1].contains("\"word\":\"CRANE\""));
+    }
+}
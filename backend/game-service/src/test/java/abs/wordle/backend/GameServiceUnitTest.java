@@ -1,6 +1,5 @@
 package abs.wordle.backend;
 
-import abs.wordle.backend.clients.UserClient;
 import abs.wordle.backend.dto.UserDto;
 import abs.wordle.backend.enums.GameStatus;
 import abs.wordle.backend.exceptions.AccessDeniedException;
@@ -9,18 +8,27 @@ import abs.wordle.backend.exceptions.GuessLengthException;
 import abs.wordle.backend.exceptions.InvalidGuessException;
 import abs.wordle.backend.models.Game;
 import abs.wordle.backend.producers.GameEventProducer;
+import abs.wordle.backend.producers.GuessEventPublisher;
 import abs.wordle.backend.repository.AttemptRepository;
 import abs.wordle.backend.repository.GameRepository;
-import abs.wordle.backend.repository.LetterStatusesRepository;
+import abs.wordle.backend.services.FeedbackTable;
 import abs.wordle.backend.services.GameService;
+import abs.wordle.backend.services.LegacyStorage;
+import abs.wordle.backend.services.UserDirectory;
+import abs.wordle.backend.services.WordDictionary;
+import abs.wordle.backend.services.WriteBehindGameStore;
+import abs.wordle.events.GuessMadeEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Optional;
@@ -34,13 +42,23 @@ public class GameServiceUnitTest {
     @Mock
     private AttemptRepository attemptRepository;
     @Mock
-    private LetterStatusesRepository letterStatusesRepository;
+    private LegacyStorage legacyStorage;
     @Mock
     private GameEventProducer gameEventProducer;
     @Mock
     private GameRepository gameRepository;
     @Mock
-    private UserClient userClient;
+    private UserDirectory userDirectory;
+    @Spy
+    private WordDictionary wordDictionary = new WordDictionary();
+    @Spy
+    private FeedbackTable feedbackTable = new FeedbackTable(wordDictionary, false, "");
+    @Mock
+    private WriteBehindGameStore writeBehindGameStore;
+    @Mock
+    private GuessEventPublisher guessEventPublisher;
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
     @InjectMocks
     private GameService gameService;
 
@@ -54,7 +72,7 @@ public class GameServiceUnitTest {
     @Test
     void create_shouldReturnCorrectGame_withUserId() {
         //arrange
-        when(userClient.getUserById(userId)).thenReturn(Optional.of(new UserDto(userId, "test")));
+        when(userDirectory.findById(userId)).thenReturn(Optional.of(new UserDto(userId, "test")));
         //act
         gameService.create(userId);
         //assert
@@ -84,7 +102,29 @@ public class GameServiceUnitTest {
         //act
         gameService.processGuess(gameId, word, 99L);
         //assert
-        verify(gameEventProducer, times(1)).sendGameFinishedMessage(testGame);
+        verify(gameEventProducer, times(1)).enqueueGameFinished(testGame);
+    }
+
+    @Test
+    void processGuess_shouldPublishGuessMadeEvent_withAttemptNumberAndFeedback() {
+        //arrange
+        Long gameId = 12L;
+        Game testGame = new Game("GRAVE", 99L);
+        testGame.setId(gameId);
+        testGame.setCurrentTry(2);
+        when(gameRepository.findById(gameId)).thenReturn(Optional.of(testGame));
+        when(guessEventPublisher.isEnabled()).thenReturn(true);
+        //act
+        gameService.processGuess(gameId, "CRANE", 99L);
+        //assert
+        ArgumentCaptor<GuessMadeEvent> captor = ArgumentCaptor.forClass(GuessMadeEvent.class);
+        verify(guessEventPublisher, times(1)).publish(captor.capture());
+        GuessMadeEvent event = captor.getValue();
+        assertEquals(gameId, event.getGameId());
+        assertEquals(99L, event.getUserId());
+        assertEquals(3, event.getAttempt());
+        assertEquals(feedbackTable.feedback("GRAVE", "CRANE"), event.getFeedback());
+        assertNull(event.getLatencyMillis());
     }
 
     @Test
@@ -0,0 +1,95 @@
+package abs.wordle.backend;
+
+import abs.wordle.backend.enums.GuessEventOverflowPolicy;
+import abs.wordle.backend.producers.GuessEventPublisher;
+import abs.wordle.events.GuessMadeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class GuessEventPublisherUnitTest {
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private GuessEventPublisher guessEventPublisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (guessEventPublisher != null) {
+            guessEventPublisher.stop();
+        }
+    }
+
+    @Test
+    void publish_shouldDropEvents_whenBufferIsFull() {
+        //arrange
+        guessEventPublisher = publisher(GuessEventOverflowPolicy.DROP, 4, 1.0, 1);
+        //act
+        for (int i = 0; i < 6; i++) {
+            guessEventPublisher.publish(event(i));
+        }
+        //assert
+        assertEquals(2, dropped("overflow"));
+        assertEquals(0, dropped("sampled"));
+    }
+
+    @Test
+    void publish_shouldSampleEvents_aboveHighWatermark() {
+        //arrange
+        guessEventPublisher = publisher(GuessEventOverflowPolicy.SAMPLE, 8, 0.5, Integer.MAX_VALUE);
+        //act
+        for (int i = 0; i < 8; i++) {
+            guessEventPublisher.publish(event(i));
+        }
+        //assert
+        assertEquals(4, dropped("sampled"));
+        assertEquals(0, dropped("overflow"));
+    }
+
+    @Test
+    void start_shouldSendBufferedEventsKeyedByGame() {
+        //arrange
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        guessEventPublisher = publisher(GuessEventOverflowPolicy.DROP, 16, 1.0, 1);
+        guessEventPublisher.publish(event(7));
+        //act
+        guessEventPublisher.start();
+        //assert
+        verify(kafkaTemplate, timeout(2000).times(1))
+                .send(eq(GuessEventPublisher.GUESS_MADE_TOPIC), eq("7"), any(GuessMadeEvent.class));
+    }
+
+    private GuessEventPublisher publisher(GuessEventOverflowPolicy policy, int capacity, double highWatermark, int sampleRate) {
+        return new GuessEventPublisher(kafkaTemplate, meterRegistry, true, capacity, policy, highWatermark, sampleRate, 100, 1);
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.counter("wordle.guess_events.dropped", "reason", reason).count();
+    }
+
+    private static GuessMadeEvent event(long gameId) {
+        return GuessMadeEvent.newBuilder()
+                .setGameId(gameId)
+                .setUserId(1L)
+                .setAttempt(1)
+                .setFeedback(242)
+                .setMadeAt(System.currentTimeMillis())
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package abs.wordle.backend;
+
+import abs.wordle.backend.utils.MpscRingBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MpscRingBufferUnitTest {
+
+    @Test
+    void offer_shouldFail_whenFull_andSucceedAgainAfterDrain() {
+        //arrange
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+        List<Integer> drained = new ArrayList<>();
+        //act
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        boolean overflow = buffer.offer(4);
+        buffer.drain(drained::add, 2);
+        boolean afterDrain = buffer.offer(5);
+        buffer.drain(drained::add, 10);
+        //assert
+        assertEquals(4, buffer.capacity());
+        assertFalse(overflow);
+        assertTrue(afterDrain);
+        assertEquals(List.of(0, 1, 2, 3, 5), drained);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void offer_shouldNotLoseOrDuplicateElements_withConcurrentProducers() throws InterruptedException {
+        //arrange
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1024);
+        Set<Integer> received = new HashSet<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+        //act
+        while (received.size() < producers * perProducer) {
+            buffer.drain(element -> assertTrue(received.add(element)), 256);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        //assert
+        assertEquals(producers * perProducer, received.size());
+        assertTrue(buffer.isEmpty());
+    }
+}
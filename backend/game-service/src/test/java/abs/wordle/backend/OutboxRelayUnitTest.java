@@ -0,0 +1,107 @@
+package abs.wordle.backend;
+
+import abs.wordle.backend.models.OutboxEvent;
+import abs.wordle.backend.producers.OutboxRelay;
+import abs.wordle.backend.repository.OutboxEventRepository;
+import abs.wordle.events.GameFinishedEvent;
+import abs.wordle.events.GameResult;
+import abs.wordle.events.serialization.AvroEventCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OutboxRelayUnitTest {
+    private OutboxEventRepository outboxEventRepository;
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        outboxRelay = new OutboxRelay(outboxEventRepository, kafkaTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(),
+                false, 10, 1000, 1000, 30000);
+        when(outboxEventRepository.tryLockRelay(anyLong())).thenReturn(true);
+    }
+
+    @Test
+    void relayBatch_shouldMarkOnlyAcknowledgedEventsSent() {
+        //arrange
+        OutboxEvent acked = event(1L, "1");
+        OutboxEvent rejected = event(2L, "2");
+        when(outboxEventRepository.findUnsent(any(Pageable.class))).thenReturn(List.of(acked, rejected));
+        when(kafkaTemplate.send(eq("game-finished-topic"), eq("1"), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(eq("game-finished-topic"), eq("2"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        //act
+        int relayed = outboxRelay.relayBatch();
+        //assert
+        assertEquals(1, relayed);
+        verify(kafkaTemplate, times(1)).send(eq("game-finished-topic"), eq("1"), eq(acked.getPayload()));
+        verify(outboxEventRepository, times(1)).markSent(eq(List.of(1L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void relayBatch_shouldNotMarkLaterEventsOfAKey_afterOneOfItsSendsFailed() {
+        //arrange
+        OutboxEvent rejected = event(1L, "1");
+        OutboxEvent laterSameKey = event(2L, "1");
+        OutboxEvent otherKey = event(3L, "2");
+        when(outboxEventRepository.findUnsent(any(Pageable.class))).thenReturn(List.of(rejected, laterSameKey, otherKey));
+        when(kafkaTemplate.send(eq("game-finished-topic"), eq("1"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(eq("game-finished-topic"), eq("2"), any())).thenReturn(CompletableFuture.completedFuture(null));
+        //act
+        int relayed = outboxRelay.relayBatch();
+        //assert
+        assertEquals(1, relayed);
+        verify(outboxEventRepository, times(1)).markSent(eq(List.of(3L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void relayBatch_shouldSkipTheRound_whenAnotherInstanceHoldsTheRelayLock() {
+        //arrange
+        when(outboxEventRepository.tryLockRelay(anyLong())).thenReturn(false);
+        //act
+        int relayed = outboxRelay.relayBatch();
+        //assert
+        assertEquals(0, relayed);
+        verify(outboxEventRepository, never()).findUnsent(any(Pageable.class));
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void relayBatch_shouldNotTouchKafka_whenOutboxIsEmpty() {
+        //arrange
+        when(outboxEventRepository.findUnsent(any(Pageable.class))).thenReturn(List.of());
+        //act
+        int relayed = outboxRelay.relayBatch();
+        //assert
+        assertEquals(0, relayed);
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    private static OutboxEvent event(Long id, String key) {
+        OutboxEvent event = new OutboxEvent("game-finished-topic", key, GameFinishedEvent.class.getName(),
+                AvroEventCodec.shared().encode(new GameFinishedEvent(Long.valueOf(key), GameResult.WIN, 3, null, 0)));
+        event.setId(id);
+        return event;
+    }
+}
@@ -0,0 +1,59 @@
+package abs.wordle.backend;
+
+import abs.wordle.backend.clients.UserClient;
+import abs.wordle.backend.dto.UserDto;
+import abs.wordle.backend.services.UserDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UserDirectoryUnitTest {
+    private UserClient userClient;
+    private SimpleMeterRegistry meterRegistry;
+    private UserDirectory userDirectory;
+
+    @BeforeEach
+    void setUp() {
+        userClient = mock(UserClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        userDirectory = new UserDirectory(userClient, meterRegistry, 100, Duration.ofHours(1), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void findById_shouldCallUserServiceOnlyOnce_forUnknownUser() {
+        //arrange
+        when(userClient.getUserById(5L)).thenReturn(Optional.empty());
+        //act
+        userDirectory.findById(5L);
+        Optional<UserDto> user = userDirectory.findById(5L);
+        //assert
+        assertTrue(user.isEmpty());
+        verify(userClient, times(1)).getUserById(5L);
+        assertEquals(1.0, meterRegistry.get("wordle.user_directory.fallback_lookups").counter().count());
+        assertEquals(0.5, meterRegistry.get("wordle.user_directory.hit_ratio").gauge().value());
+    }
+
+    @Test
+    void findById_shouldServeUserFromEvent_withoutHttpLookup() {
+        //arrange
+        when(userClient.getUserById(5L)).thenReturn(Optional.empty());
+        userDirectory.findById(5L);
+        //act
+        userDirectory.put(new UserDto(5L, "test"));
+        //assert
+        assertEquals("test", userDirectory.findById(5L).orElseThrow().username());
+        verify(userClient, times(1)).getUserById(5L);
+
+        //act
+        userDirectory.remove(5L);
+        //assert
+        assertTrue(userDirectory.findById(5L).isEmpty());
+        verifyNoMoreInteractions(userClient);
+    }
+}
@@ -0,0 +1,89 @@
+package abs.wordle.backend;
+
+import abs.wordle.backend.services.WordDictionary;
+import abs.wordle.backend.utils.WordleUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WordDictionaryUnitTest {
+
+    @Test
+    void idOf_shouldReturnAbsent_forNonWordsAndUnknownCodes() {
+        //arrange
+        WordDictionary dictionary = new WordDictionary(List.of("CRANE", "GRAVE"), List.of("SLOTH"));
+        //act && assert
+        assertEquals(-1, dictionary.idOf("GR4VE"));
+        assertEquals(-1, dictionary.idOf("QQQQQ"));
+        assertEquals(-1, dictionary.idOf("ZZZZZ"));
+        assertEquals(-1, dictionary.idOf(WordleUtils.encode("ZZZZZ")));
+        assertFalse(dictionary.isAllowedGuess("ZZZZZ"));
+    }
+
+    @Test
+    void idOf_shouldGiveAnswersDenseIds_belowTheGuessOnlyIds() {
+        //arrange
+        List<String> answers = List.of("CRANE", "GRAVE", "PIVOT");
+        List<String> guesses = List.of("SLOTH", "MOUND");
+        //act
+        WordDictionary dictionary = new WordDictionary(answers, guesses);
+        //assert
+        assertEquals(3, dictionary.answerCount());
+        assertEquals(5, dictionary.size());
+        for (int i = 0; i < answers.size(); i++) {
+            assertEquals(i, dictionary.idOf(answers.get(i)));
+            assertTrue(dictionary.isAnswer(i));
+        }
+        for (int i = 0; i < guesses.size(); i++) {
+            int id = dictionary.idOf(guesses.get(i));
+            assertEquals(answers.size() + i, id);
+            assertFalse(dictionary.isAnswer(id));
+            assertEquals(guesses.get(i), dictionary.wordOf(id));
+        }
+    }
+
+    @Test
+    void idOf_shouldGiveAWordInBothLists_aSingleAnswerId() {
+        //act
+        WordDictionary dictionary = new WordDictionary(List.of("CRANE", "GRAVE"), List.of("GRAVE", "SLOTH"));
+        //assert
+        assertEquals(3, dictionary.size());
+        assertEquals(2, dictionary.answerCount());
+        assertEquals(1, dictionary.idOf("GRAVE"));
+        assertTrue(dictionary.isAnswer(1));
+        assertEquals(2, dictionary.idOf("SLOTH"));
+    }
+
+    @Test
+    void contains_shouldStayCorrect_whenProbesWrapPastTheEndOfTheTable() {
+        //arrange: three words sharing the last slot of an 8-slot table fill slots 7, 0 and 1
+        List<String> lastSlot = wordsWithHomeSlot(7, 7, 4);
+        WordDictionary dictionary = new WordDictionary(lastSlot.subList(0, 3), List.of());
+        //act && assert
+        for (int i = 0; i < 3; i++) {
+            assertTrue(dictionary.isAllowedGuess(lastSlot.get(i)));
+            assertEquals(i, dictionary.idOf(lastSlot.get(i)));
+        }
+        // probes 7, 0, 1 and stops at the empty slot 2
+        assertFalse(dictionary.isAllowedGuess(lastSlot.get(3)));
+        assertEquals(-1, dictionary.idOf(lastSlot.get(3)));
+    }
+
+    // same mix as PackedWordIndex; if it changes, the words still land somewhere and the test still holds
+    private static List<String> wordsWithHomeSlot(int slot, int mask, int count) {
+        List<String> words = new ArrayList<>();
+        for (char a = 'A'; a <= 'Z' && words.size() < count; a++) {
+            for (char b = 'A'; b <= 'Z' && words.size() < count; b++) {
+                String word = "QX" + a + b + "Z";
+                int h = WordleUtils.encode(word) * 0x9E3779B1;
+                if (((h ^ (h >>> 16)) & mask) == slot) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+}
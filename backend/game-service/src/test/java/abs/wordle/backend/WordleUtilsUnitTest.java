@@ -0,0 +1,54 @@
+package abs.wordle.backend;
+
+import abs.wordle.backend.enums.LetterStatus;
+import abs.wordle.backend.utils.WordleUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static abs.wordle.backend.enums.LetterStatus.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WordleUtilsUnitTest {
+
+    @Test
+    void encode_shouldRoundTrip_forUpperCaseWord() {
+        //act
+        int code = WordleUtils.encode("GRAVE");
+        //assert
+        assertTrue(code > 0);
+        assertEquals("GRAVE", WordleUtils.decode(code));
+    }
+
+    @Test
+    void encode_shouldRejectInvalidWords() {
+        assertEquals(-1, WordleUtils.encode("grave"));
+        assertEquals(-1, WordleUtils.encode("GRAVES"));
+        assertEquals(-1, WordleUtils.encode("GR4VE"));
+    }
+
+    @Test
+    void score_shouldReturnAllCorrect_whenGuessMatchesWord() {
+        //act
+        int feedback = WordleUtils.score("GRAVE", "GRAVE");
+        //assert
+        assertTrue(WordleUtils.isSolved(feedback));
+        assertEquals(List.of(CORRECT, CORRECT, CORRECT, CORRECT, CORRECT), WordleUtils.decodeFeedback(feedback));
+    }
+
+    @Test
+    void determineLetterStatuses_shouldCreditRepeatedLettersOnlyOnce() {
+        //act
+        List<LetterStatus> statuses = WordleUtils.determineLetterStatuses("ABBEY", "BOBBY");
+        //assert
+        assertEquals(List.of(MISPLACED, INCORRECT, CORRECT, INCORRECT, CORRECT), statuses);
+    }
+
+    @Test
+    void determineLetterStatuses_shouldPreferGreenOverEarlierMisplaced() {
+        //act
+        List<LetterStatus> statuses = WordleUtils.determineLetterStatuses("CRANE", "EERIE");
+        //assert
+        assertEquals(List.of(INCORRECT, INCORRECT, MISPLACED, INCORRECT, CORRECT), statuses);
+    }
+}
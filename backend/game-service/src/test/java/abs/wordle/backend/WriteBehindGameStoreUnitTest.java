@@ -0,0 +1,249 @@
+package abs.wordle.backend;
+
+import abs.wordle.backend.enums.GameStatus;
+import abs.wordle.backend.enums.WriteBehindDurability;
+import abs.wordle.backend.models.Attempt;
+import abs.wordle.backend.models.Game;
+import abs.wordle.backend.producers.GameEventProducer;
+import abs.wordle.backend.repository.AttemptRepository;
+import abs.wordle.backend.repository.GameRepository;
+import abs.wordle.backend.services.LegacyStorage;
+import abs.wordle.backend.services.WriteBehindGameStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class WriteBehindGameStoreUnitTest {
+    private static final long GAME_ID = 11L;
+
+    private GameRepository gameRepository;
+    private AttemptRepository attemptRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private WriteBehindGameStore store;
+    // the rows the flusher finds in the database
+    private final Map<Long, Game> database = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        gameRepository = mock(GameRepository.class);
+        attemptRepository = mock(AttemptRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        database.put(GAME_ID, game());
+        when(gameRepository.findById(GAME_ID)).thenAnswer(invocation -> Optional.of(game()));
+        when(gameRepository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(database::get).toList();
+        });
+        // no idle timeout, so only queued writes keep a game cached
+        store = new WriteBehindGameStore(gameRepository, attemptRepository, mock(GameEventProducer.class),
+                mock(LegacyStorage.class), new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                meterRegistry, true, 100, 50, 5, WriteBehindDurability.ASYNC, 0);
+        store.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        store.stop();
+    }
+
+    @Test
+    void flush_shouldStoreQueuedAttempts_andCopyTheGameState() throws Exception {
+        //arrange
+        Game game = store.acquire(GAME_ID);
+        //act
+        append(game, "CRANE");
+        CompletableFuture<Void> persisted = append(game, "SLOTH");
+        persisted.get(5, TimeUnit.SECONDS);
+        //assert
+        ArgumentCaptor<List<Attempt>> captor = attemptsCaptor();
+        verify(attemptRepository, atLeastOnce()).saveAll(captor.capture());
+        List<String> stored = captor.getAllValues().stream().flatMap(List::stream).map(Attempt::getGuess).toList();
+        assertEquals(List.of("CRANE", "SLOTH"), stored);
+        assertEquals(2, database.get(GAME_ID).getCurrentTry());
+        assertTrue(store.holds(game));
+    }
+
+    @Test
+    void flush_shouldRetryAFailedBatch_andClearIdsFromTheRolledBackTransaction() throws Exception {
+        //arrange
+        List<Long> idsSeen = new ArrayList<>();
+        when(attemptRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> {
+                    List<Attempt> attempts = invocation.getArgument(0);
+                    idsSeen.add(attempts.get(0).getId());
+                    attempts.forEach(attempt -> attempt.setId(99L));
+                    throw new IllegalStateException("connection reset");
+                })
+                .thenAnswer(invocation -> {
+                    List<Attempt> attempts = invocation.getArgument(0);
+                    idsSeen.add(attempts.get(0).getId());
+                    return attempts;
+                });
+        Game game = store.acquire(GAME_ID);
+        //act
+        append(game, "CRANE").get(5, TimeUnit.SECONDS);
+        //assert
+        verify(attemptRepository, times(2)).saveAll(anyList());
+        assertEquals(2, idsSeen.size());
+        assertNull(idsSeen.get(1));
+        assertEquals(0, meterRegistry.counter("wordle.write_behind.failed_writes").count());
+        assertTrue(store.holds(game));
+    }
+
+    @Test
+    void flush_shouldFailAndEvictTheGame_whenRetriesRunOut() throws Exception {
+        //arrange
+        when(attemptRepository.saveAll(anyList())).thenThrow(new IllegalStateException("database down"));
+        Game game = store.acquire(GAME_ID);
+        //act
+        CompletableFuture<Void> dropped = append(game, "CRANE");
+        //assert: the caller hears about it and the copy holding the lost attempt is gone
+        assertThrows(ExecutionException.class, () -> dropped.get(5, TimeUnit.SECONDS));
+        assertFalse(store.holds(game));
+        assertEquals(1, meterRegistry.counter("wordle.write_behind.failed_writes").count());
+
+        //act: a guess that raced the eviction must not be stored on top of the gap
+        reset(attemptRepository);
+        CompletableFuture<Void> late = append(game, "SLOTH");
+        //assert
+        assertThrows(ExecutionException.class, () -> late.get(5, TimeUnit.SECONDS));
+        verify(attemptRepository, never()).saveAll(anyList());
+        Game reloaded = store.acquire(GAME_ID);
+        assertNotSame(game, reloaded);
+        assertEquals(0, reloaded.getCurrentTry());
+    }
+
+    @Test
+    void evictIdleGames_shouldKeepAGameWithQueuedWrites_untilTheyAreFlushed() throws Exception {
+        //arrange: hold the flusher inside the write so the attempt stays queued
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(attemptRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        Game game = store.acquire(GAME_ID);
+        CompletableFuture<Void> persisted = append(game, "CRANE");
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+        Thread.sleep(2);
+        //act
+        store.evictIdleGames();
+        //assert
+        assertTrue(store.holds(game));
+
+        //act
+        release.countDown();
+        persisted.get(5, TimeUnit.SECONDS);
+        store.evictIdleGames();
+        //assert
+        assertFalse(store.holds(game));
+    }
+
+    @Test
+    void flush_shouldFailEveryPendingWrite_whenTheFlusherIsInterrupted() throws Exception {
+        //arrange: hold the flusher inside the first write while a second one queues up
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(attemptRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            flushing.countDown();
+            awaitUninterruptibly(release);
+            return invocation.getArgument(0);
+        });
+        Game game = store.acquire(GAME_ID);
+        CompletableFuture<Void> first = append(game, "CRANE");
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> queued = append(game, "SLOTH");
+        //act
+        flusherThread().interrupt();
+        release.countDown();
+        //assert: the write in flight still lands, the queued one fails instead of hanging
+        first.get(5, TimeUnit.SECONDS);
+        assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertFalse(store.holds(game));
+        assertEquals(1, meterRegistry.counter("wordle.write_behind.failed_writes").count());
+    }
+
+    @Test
+    void snapshot_shouldCopyTheGame_soLaterGuessesDoNotChangeIt() {
+        //arrange
+        Game game = store.acquire(GAME_ID);
+        append(game, "CRANE");
+        //act
+        Game snapshot = store.snapshot(GAME_ID);
+        append(game, "SLOTH");
+        //assert
+        assertNotSame(game, snapshot);
+        assertEquals(1, snapshot.getCurrentTry());
+        assertEquals(1, snapshot.getAttempts().size());
+        assertEquals(2, game.getAttempts().size());
+    }
+
+    private CompletableFuture<Void> append(Game game, String guess) {
+        game.getLock().lock();
+        try {
+            Attempt attempt = new Attempt();
+            attempt.setGame(game);
+            attempt.setGuess(guess);
+            game.getAttempts().add(attempt);
+            game.setCurrentTry(game.getCurrentTry() + 1);
+            return store.append(game, attempt, false);
+        } finally {
+            game.getLock().unlock();
+        }
+    }
+
+    private static Thread flusherThread() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("write-behind-flusher") && thread.isAlive())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Game game() {
+        Game game = new Game("GRAVE", 7L);
+        game.setId(GAME_ID);
+        game.setGameStatus(GameStatus.PROCEED);
+        return game;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<Attempt>> attemptsCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
@@ -0,0 +1,3 @@
+-- the pre-compact varchar columns, as they still exist on a database migrated in place
+ALTER TABLE game_schema.Game ADD COLUMN IF NOT EXISTS word varchar(255);
+ALTER TABLE game_schema.Attempt ADD COLUMN IF NOT EXISTS guess varchar(255);
@@ -0,0 +1,35 @@
+package abs.wordle.userservice.config;
+
+import abs.wordle.userservice.consumers.GameEventConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.util.backoff.FixedBackOff;
+
+@Configuration
+public class KafkaConsumerConfig {
+
+    /**
+     * Hands failed game-finished records off instead of retrying them in place, so one bad record
+     * never holds up the partition: records that cannot be deserialized go straight to the
+     * dead-letter topic, everything else enters the retry chain of {@code GameResultRecoveryConsumer}.
+     * The raw bytes of undeserializable records pass through the event serializer unchanged.
+     */
+    @Bean
+    public DeadLetterPublishingRecoverer deadLetterPublishingRecoverer(KafkaTemplate<Object, Object> kafkaTemplate) {
+        return new DeadLetterPublishingRecoverer(kafkaTemplate, (record, exception) ->
+                record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null
+                        ? new TopicPartition(GameEventConsumer.DEAD_LETTER_TOPIC, -1)
+                        : new TopicPartition(GameEventConsumer.RECOVERY_TOPIC, -1));
+    }
+
+    @Bean
+    public CommonErrorHandler kafkaErrorHandler(DeadLetterPublishingRecoverer deadLetterPublishingRecoverer) {
+        return new DefaultErrorHandler(deadLetterPublishingRecoverer, new FixedBackOff(0L, 0L));
+    }
+}
@@ -0,0 +1,20 @@
+package abs.wordle.userservice.config;
+
+import abs.wordle.userservice.producers.UserEventProducer;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
+    @Bean
+    public NewTopic userEventsTopic() {
+        // compacted: keyed by user id, so the topic always holds the latest state of every user
+        return TopicBuilder.name(UserEventProducer.USER_EVENTS_TOPIC)
+                .partitions(1)
+                .replicas(1)
+                .compact()
+                .build();
+    }
+}
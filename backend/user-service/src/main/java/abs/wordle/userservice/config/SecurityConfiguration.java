@@ -1,21 +1,29 @@
 package abs.wordle.userservice.config;
 
+import abs.wordle.userservice.enums.UserRole;
 import abs.wordle.userservice.security.HeaderAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @Configuration
 @EnableWebSecurity
@@ -23,6 +31,7 @@ import java.util.List;
 public class SecurityConfiguration {
     private final HeaderAuthenticationFilter headerAuthFilter;
     private final AuthenticationProvider authenticationProvider;
+    private final UserDetailsService userDetailsService;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -31,7 +40,10 @@ public class SecurityConfiguration {
                 .authorizeHttpRequests(authorizeRequests -> authorizeRequests
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/users/internal/**").permitAll()
-                        .requestMatchers("/api/users/top").permitAll()
+                        .requestMatchers("/api/users/top", "/api/users/top/rating").permitAll()
+                        .requestMatchers("/api/users/leaderboards/**").permitAll()
+                        .requestMatchers("/internal/admin/**").access(this::requireAdmin)
+                        .requestMatchers("/actuator/health", "/actuator/metrics/**").permitAll()
                         .anyRequest()
                         .authenticated()
                 )
@@ -42,4 +54,20 @@ public class SecurityConfiguration {
 
         return http.build();
     }
+
+    // the forwarded headers carry no role, so it is looked up, only for the rare admin calls
+    private AuthorizationDecision requireAdmin(Supplier<Authentication> authentication,
+                                               RequestAuthorizationContext context) {
+        Authentication caller = authentication.get();
+        if (caller == null || !caller.isAuthenticated() || caller instanceof AnonymousAuthenticationToken) {
+            return new AuthorizationDecision(false);
+        }
+        try {
+            boolean admin = userDetailsService.loadUserByUsername(caller.getName()).getAuthorities().stream()
+                    .anyMatch(authority -> UserRole.ADMIN.name().equals(authority.getAuthority()));
+            return new AuthorizationDecision(admin);
+        } catch (UsernameNotFoundException e) {
+            return new AuthorizationDecision(false);
+        }
+    }
 }
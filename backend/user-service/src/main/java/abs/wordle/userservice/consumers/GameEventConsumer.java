@@ -1,37 +1,104 @@
 package abs.wordle.userservice.consumers;
 
 import abs.wordle.events.GameFinishedEvent;
-import abs.wordle.userservice.models.User;
-import abs.wordle.userservice.repository.UserRepository;
+import abs.wordle.events.GameResult;
+import abs.wordle.userservice.dto.UserStatsDelta;
+import abs.wordle.userservice.repository.UserStatsRepository;
+import abs.wordle.userservice.services.AchievementService;
+import abs.wordle.userservice.services.LeaderboardService;
+import abs.wordle.userservice.services.SkillRatingService;
+import abs.wordle.userservice.services.WindowedLeaderboardService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.serializer.SerializationUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GameEventConsumer {
-    private final UserRepository userRepository;
-    @KafkaListener(topics = "game-finished-topic",
-            groupId = "user-service-group")
-    public void handleGameFinished(GameFinishedEvent gameFinishedEvent) {
-        log.debug("Received GameFinishedEvent for user {}", gameFinishedEvent);
-        Long userId = gameFinishedEvent.getUserId();
-        if(userId == null) {
-            log.info("Event for anonymous user, skipping stats update.");
-            return;
+    public static final String GAME_FINISHED_TOPIC = "game-finished-topic";
+    public static final String RECOVERY_TOPIC = "game-finished-recovery";
+    public static final String DEAD_LETTER_TOPIC = RECOVERY_TOPIC + "-dlt";
+
+    private final UserStatsRepository userStatsRepository;
+    private final SkillRatingService skillRatingService;
+    private final AchievementService achievementService;
+    private final LeaderboardService leaderboardService;
+    private final WindowedLeaderboardService windowedLeaderboardService;
+    private final DeadLetterPublishingRecoverer deadLetterPublishingRecoverer;
+
+    // one listener thread per partition; events are keyed by user, so each user's
+    // results are still applied in order by a single thread.
+    // A whole poll is handled at once and its offsets are committed only after the update commits.
+    // A failed update is not retried in place: the error handler moves the poll to the retry chain.
+    // Stats, badges and ratings commit together, so a poll sent to the retry chain has applied none of them
+    @KafkaListener(topics = GAME_FINISHED_TOPIC,
+            groupId = "user-service-group",
+            concurrency = "${wordle.game-finished.concurrency:12}",
+            batch = "true")
+    @Transactional
+    public void handleGameFinished(List<ConsumerRecord<String, GameFinishedEvent>> records) {
+        Map<Long, UserStatsDelta> deltas = new HashMap<>();
+        List<GameFinishedEvent> results = new ArrayList<>(records.size());
+        List<ConsumerRecord<String, GameFinishedEvent>> undeserializable = new ArrayList<>();
+        for (ConsumerRecord<String, GameFinishedEvent> record : records) {
+            GameFinishedEvent event = record.value();
+            if (event == null) {
+                if (record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null) {
+                    undeserializable.add(record);
+                }
+                continue;
+            }
+            addResult(deltas, event);
+            results.add(event);
+        }
+        // dead-lettered first: if the update then fails, the batch is re-published as a whole,
+        // which at worst duplicates a poison record but never applies a result twice
+        for (ConsumerRecord<String, GameFinishedEvent> record : undeserializable) {
+            log.warn("Dead-lettering undeserializable record {}-{}@{}", record.topic(), record.partition(), record.offset());
+            deadLetterPublishingRecoverer.accept(record, new IllegalArgumentException("Undeserializable game result"));
+        }
+        // badges are evaluated on the stats as they were before this poll
+        achievementService.applyResults(results);
+        int updated = userStatsRepository.incrementStats(deltas.values());
+        if (updated < deltas.size()) {
+            log.warn("Stats of {} unknown users skipped", deltas.size() - updated);
         }
-        User user = userRepository.findById(gameFinishedEvent.getUserId()).orElse(null);
-        if(user == null) {
-            log.warn("User with id {} not found, cannot update stats.", gameFinishedEvent.getUserId());
+        skillRatingService.applyResults(results);
+        windowedLeaderboardService.applyResults(results);
+        leaderboardService.refreshAfterCommit(usersWithNewWins(deltas.values()));
+        log.debug("Applied {} game results to {} users", records.size(), updated);
+    }
+
+    static List<Long> usersWithNewWins(Collection<UserStatsDelta> deltas) {
+        return deltas.stream()
+                .filter(delta -> delta.getWins() > 0)
+                .map(UserStatsDelta::getUserId)
+                .toList();
+    }
+
+    static void addResult(Map<Long, UserStatsDelta> deltas, GameFinishedEvent event) {
+        if (event.getUserId() == null) {
             return;
         }
-        if(gameFinishedEvent.getResult().equals("WIN"))
-            user.setWins(user.getWins() + 1);
-        else
-            user.setLosses(user.getLosses() + 1);
-        userRepository.save(user);
-        log.info("Successfully updated stats for user: {}", user.getUsername());
+        // a poll holds one user's results in play order, as they share a partition; results re-applied
+        // by the retry chain can arrive after later ones, which incrementStats detects by finish time
+        UserStatsDelta delta = deltas.computeIfAbsent(event.getUserId(), UserStatsDelta::new);
+        if (event.getResult() == GameResult.WIN) {
+            delta.recordWin(event.getAttempts(), event.getFinishedAt());
+        } else {
+            delta.recordLoss(event.getFinishedAt());
+        }
     }
 }
@@ -0,0 +1,85 @@
+package abs.wordle.userservice.consumers;
+
+import abs.wordle.events.GameFinishedEvent;
+import abs.wordle.userservice.dto.UserStatsDelta;
+import abs.wordle.userservice.repository.UserStatsRepository;
+import abs.wordle.userservice.services.AchievementService;
+import abs.wordle.userservice.services.LeaderboardService;
+import abs.wordle.userservice.services.SkillRatingService;
+import abs.wordle.userservice.services.WindowedLeaderboardService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.DltHandler;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Re-applies game results whose batch failed in {@link GameEventConsumer}, one record at a time,
+ * through retry topics with growing delays (1s, 10s, 60s). Each tier is its own topic, so a record
+ * waiting out its backoff never blocks the main topic. Records that fail every tier land in
+ * {@link GameEventConsumer#DEAD_LETTER_TOPIC} and can be replayed through the admin endpoint.
+ */
+@Slf4j
+@Service
+public class GameResultRecoveryConsumer {
+    public static final String RECOVERY_GROUP = "user-service-recovery-group";
+
+    private final UserStatsRepository userStatsRepository;
+    private final SkillRatingService skillRatingService;
+    private final AchievementService achievementService;
+    private final LeaderboardService leaderboardService;
+    private final WindowedLeaderboardService windowedLeaderboardService;
+    private final Counter deadLetters;
+
+    public GameResultRecoveryConsumer(UserStatsRepository userStatsRepository,
+                                      SkillRatingService skillRatingService,
+                                      AchievementService achievementService,
+                                      LeaderboardService leaderboardService,
+                                      WindowedLeaderboardService windowedLeaderboardService,
+                                      MeterRegistry meterRegistry) {
+        this.userStatsRepository = userStatsRepository;
+        this.skillRatingService = skillRatingService;
+        this.achievementService = achievementService;
+        this.leaderboardService = leaderboardService;
+        this.windowedLeaderboardService = windowedLeaderboardService;
+        this.deadLetters = meterRegistry.counter("wordle.stats.dead_letters");
+    }
+
+    @RetryableTopic(attempts = "4",
+            backoff = @Backoff(delayExpression = "${wordle.game-finished.retry-delay-ms:1000}",
+                    multiplier = 10,
+                    maxDelayExpression = "${wordle.game-finished.retry-max-delay-ms:60000}"),
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            exclude = DeserializationException.class,
+            dltStrategy = DltStrategy.FAIL_ON_ERROR,
+            kafkaTemplate = "kafkaTemplate")
+    @KafkaListener(topics = GameEventConsumer.RECOVERY_TOPIC, groupId = RECOVERY_GROUP)
+    @Transactional
+    public void handleRecovery(GameFinishedEvent gameFinishedEvent) {
+        Map<Long, UserStatsDelta> deltas = new HashMap<>(1);
+        GameEventConsumer.addResult(deltas, gameFinishedEvent);
+        achievementService.applyResults(List.of(gameFinishedEvent));
+        userStatsRepository.incrementStats(deltas.values());
+        skillRatingService.applyResults(List.of(gameFinishedEvent));
+        windowedLeaderboardService.applyResults(List.of(gameFinishedEvent));
+        leaderboardService.refreshAfterCommit(GameEventConsumer.usersWithNewWins(deltas.values()));
+    }
+
+    @DltHandler
+    public void handleDeadLetter(ConsumerRecord<String, GameFinishedEvent> record) {
+        deadLetters.increment();
+        log.warn("Game result {} moved to {} at offset {}", record.value(), record.topic(), record.offset());
+    }
+}
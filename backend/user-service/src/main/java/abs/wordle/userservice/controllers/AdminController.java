@@ -0,0 +1,23 @@
+package abs.wordle.userservice.controllers;
+
+import abs.wordle.userservice.services.DeadLetterReplayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+// not routed by the gateway; callers inside the cluster still need the ADMIN role
+@RestController
+@RequestMapping("/internal/admin")
+@RequiredArgsConstructor
+public class AdminController {
+    private final DeadLetterReplayService deadLetterReplayService;
+
+    @PostMapping("/game-finished/dlt/replay")
+    public Map<String, Integer> replayGameFinishedDeadLetters(@RequestParam(defaultValue = "1000") int max) {
+        return Map.of("replayed", deadLetterReplayService.replay(max));
+    }
+}
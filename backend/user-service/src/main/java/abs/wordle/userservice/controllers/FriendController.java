@@ -0,0 +1,48 @@
+package abs.wordle.userservice.controllers;
+
+import abs.wordle.userservice.dto.FriendLeaderboard;
+import abs.wordle.userservice.services.FriendLeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users/me")
+@RequiredArgsConstructor
+public class FriendController {
+    private static final int MAX_LIMIT = 50;
+
+    private final FriendLeaderboardService friendLeaderboardService;
+
+    @GetMapping("/following")
+    public List<String> getFollowing(Authentication authentication) {
+        return friendLeaderboardService.following(authentication.getName());
+    }
+
+    @PutMapping("/following/{username}")
+    public ResponseEntity<Void> follow(@PathVariable String username, Authentication authentication) {
+        friendLeaderboardService.follow(authentication.getName(), username);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/following/{username}")
+    public ResponseEntity<Void> unfollow(@PathVariable String username, Authentication authentication) {
+        friendLeaderboardService.unfollow(authentication.getName(), username);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/friends/leaderboard")
+    public FriendLeaderboard getFriendLeaderboard(@RequestParam(defaultValue = "20") int limit,
+                                                  Authentication authentication) {
+        return friendLeaderboardService.leaderboard(authentication.getName(), Math.clamp(limit, 1, MAX_LIMIT));
+    }
+}
@@ -0,0 +1,40 @@
+package abs.wordle.userservice.controllers;
+
+import abs.wordle.userservice.dto.RankedPlayer;
+import abs.wordle.userservice.enums.LeaderboardWindow;
+import abs.wordle.userservice.services.WindowedLeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class LeaderboardController {
+    private static final int MAX_LIMIT = 100;
+
+    private final WindowedLeaderboardService windowedLeaderboardService;
+
+    @GetMapping("/leaderboards/{window}")
+    public List<RankedPlayer> getTop(@PathVariable LeaderboardWindow window,
+                                     @RequestParam(defaultValue = "20") int limit) {
+        return windowedLeaderboardService.top(window, Math.clamp(limit, 1, MAX_LIMIT));
+    }
+
+    @GetMapping("/leaderboards/seasons/{season}")
+    public List<RankedPlayer> getArchivedSeason(@PathVariable int season,
+                                                @RequestParam(defaultValue = "20") int limit) {
+        return windowedLeaderboardService.archivedTop(season, Math.clamp(limit, 1, MAX_LIMIT));
+    }
+
+    @GetMapping("/me/leaderboards/{window}")
+    public RankedPlayer getMyStanding(@PathVariable LeaderboardWindow window, Authentication authentication) {
+        return windowedLeaderboardService.standing(window, authentication.getName());
+    }
+}
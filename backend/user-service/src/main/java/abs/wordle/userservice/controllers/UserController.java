@@ -1,14 +1,20 @@
 package abs.wordle.userservice.controllers;
 
+import abs.wordle.userservice.dto.LeaderboardStanding;
+import abs.wordle.userservice.dto.RankedPlayer;
 import abs.wordle.userservice.dto.UserInternalDto;
 import abs.wordle.userservice.dto.UserResponseDTO;
 import abs.wordle.userservice.models.User;
+import abs.wordle.userservice.services.TopPlayersService;
 import abs.wordle.userservice.services.UserService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -17,10 +23,14 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
+    private static final int MAX_AROUND_SIZE = 25;
+
     private final UserService userService;
+    private final TopPlayersService topPlayersService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, TopPlayersService topPlayersService) {
         this.userService = userService;
+        this.topPlayersService = topPlayersService;
     }
 
     @PostMapping("/{id}")
@@ -40,9 +50,32 @@ public class UserController {
         return new UserResponseDTO(user, rank);
     }
 
+    // served from pre-serialized bytes; clients revalidate with If-None-Match and mostly get a 304
     @GetMapping("/top")
-    public Map<String, Integer> getTop20Users() {
-        return userService.getTop20Users();
+    public ResponseEntity<byte[]> getTop20Users(WebRequest request) {
+        TopPlayersService.Snapshot snapshot = topPlayersService.snapshot();
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
+    }
+
+    @GetMapping("/top/rating")
+    public Map<String, Long> getTop20UsersByRating() {
+        return userService.getTop20UsersByRating();
+    }
+
+    @GetMapping("/me/rating-rank")
+    public ResponseEntity<Map<String, Long>> getMyRatingRank(Authentication authentication) {
+        Long rank = userService.getUserRatingRank(authentication.getName());
+
+        Map<String, Long> response = new HashMap<>();
+        response.put("rank", rank);
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/me/rank")
@@ -55,10 +88,21 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/me/standing")
+    public LeaderboardStanding getMyStanding(Authentication authentication) {
+        return userService.getUserStanding(authentication.getName());
+    }
+
+    @GetMapping("/me/around")
+    public List<RankedPlayer> getPlayersAroundMe(Authentication authentication,
+                                                 @RequestParam(defaultValue = "5") int size) {
+        return userService.getPlayersAround(authentication.getName(), Math.clamp(size, 1, MAX_AROUND_SIZE));
+    }
+
     @GetMapping("/internal/{id}")
     public ResponseEntity<UserInternalDto> getUserForInternalCommunication(@PathVariable Long id) {
-        User user = userService.getById(id);
-        UserInternalDto dto = new UserInternalDto(user.getId(), user.getUsername());
-        return ResponseEntity.ok(dto);
+        return userService.findById(id)
+                .map(user -> ResponseEntity.ok(new UserInternalDto(user.getId(), user.getUsername())))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 }
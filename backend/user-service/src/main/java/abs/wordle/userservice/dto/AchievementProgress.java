@@ -0,0 +1,20 @@
+package abs.wordle.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/** The state achievements are evaluated on for one user, advanced event by event over a batch. */
+@Data
+@AllArgsConstructor
+public class AchievementProgress {
+    private final long userId;
+    private int wins;
+    private int winStreak;
+    private int dailyStreak;
+    private LocalDate lastPlayedOn;
+    private long achievements;
+    /** Finish time (epoch millis) of the latest result applied to the win streak. */
+    private Long lastFinishedAt;
+}
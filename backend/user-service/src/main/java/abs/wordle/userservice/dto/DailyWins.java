@@ -0,0 +1,7 @@
+package abs.wordle.userservice.dto;
+
+import java.time.LocalDate;
+
+/** Wins of one user on one UTC day, summed over a batch of results. */
+public record DailyWins(long userId, LocalDate day, int season, int wins) {
+}
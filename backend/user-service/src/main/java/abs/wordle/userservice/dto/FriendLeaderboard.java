@@ -0,0 +1,7 @@
+package abs.wordle.userservice.dto;
+
+import java.util.List;
+
+/** The best of the players a user follows, the user included, and the user's own place among them. */
+public record FriendLeaderboard(List<RankedPlayer> top, RankedPlayer me, int following) {
+}
@@ -0,0 +1,4 @@
+package abs.wordle.userservice.dto;
+
+public record LeaderboardEntry(long userId, String username, int wins) {
+}
@@ -0,0 +1,8 @@
+package abs.wordle.userservice.dto;
+
+/**
+ * Where a user stands on the wins leaderboard. {@code percentile} is the share of players with
+ * fewer wins, in percent; it is null when the standing had to be looked up in the database.
+ */
+public record LeaderboardStanding(long rank, long players, Double percentile) {
+}
@@ -0,0 +1,4 @@
+package abs.wordle.userservice.dto;
+
+public record RankedPlayer(long rank, String username, int wins) {
+}
@@ -0,0 +1,29 @@
+package abs.wordle.userservice.dto;
+
+import lombok.Data;
+
+/**
+ * Rating of a player or a word while a batch of results is applied. The rating moves with
+ * every game so later games of the batch see it; {@link #delta} is what gets written back.
+ */
+@Data
+public class SkillRating {
+    private final long id;
+    private double rating;
+    private int games;
+    private double delta;
+    private int newGames;
+
+    public SkillRating(long id, double rating, int games) {
+        this.id = id;
+        this.rating = rating;
+        this.games = games;
+    }
+
+    public void adjust(double change) {
+        rating += change;
+        delta += change;
+        games++;
+        newGames++;
+    }
+}
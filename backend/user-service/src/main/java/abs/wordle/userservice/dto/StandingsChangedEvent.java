@@ -0,0 +1,7 @@
+package abs.wordle.userservice.dto;
+
+import java.util.Collection;
+
+/** Published after committed stat updates moved players on the wins leaderboard. */
+public record StandingsChangedEvent(Collection<LeaderboardEntry> standings) {
+}
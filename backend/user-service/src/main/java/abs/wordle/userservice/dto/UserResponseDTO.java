@@ -1,5 +1,6 @@
 package abs.wordle.userservice.dto;
 
+import abs.wordle.userservice.enums.Achievement;
 import abs.wordle.userservice.enums.UserRole;
 import abs.wordle.userservice.models.User;
 import lombok.AllArgsConstructor;
@@ -8,6 +9,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -19,6 +21,18 @@ public class UserResponseDTO {
     private UserRole role;
     private Integer wins;
     private Integer losses;
+    private Integer currentStreak;
+    private Integer maxStreak;
+    /** Share of finished games that were won, in percent. */
+    private Double winRate;
+    private int[] guessDistribution;
+    /** Mean number of guesses over wins whose attempt count is known. */
+    private Double averageGuesses;
+    private LocalDateTime lastFinishedAt;
+    /** Skill rating rounded to a whole number; null until the first rated game. */
+    private Long rating;
+    private Integer ratedGames;
+    private List<Achievement> achievements;
     private Long position;
     private String firstName;
     private String lastName;
@@ -30,9 +44,35 @@ public class UserResponseDTO {
         this.role = user.getRole();
         this.wins = user.getWins();
         this.losses = user.getLosses();
+        this.currentStreak = valueOrZero(user.getCurrentStreak());
+        this.maxStreak = valueOrZero(user.getMaxStreak());
+        int played = valueOrZero(user.getWins()) + valueOrZero(user.getLosses());
+        this.winRate = played == 0 ? null : 100.0 * valueOrZero(user.getWins()) / played;
+        this.guessDistribution = user.getGuessDistribution() == null
+                ? new int[UserStatsDelta.MAX_ATTEMPTS]
+                : user.getGuessDistribution();
+        this.averageGuesses = averageGuesses(guessDistribution);
+        this.lastFinishedAt = user.getLastFinishedAt();
+        this.rating = user.getRating() == null ? null : Math.round(user.getRating());
+        this.ratedGames = valueOrZero(user.getRatedGames());
+        this.achievements = Achievement.fromMask(user.getAchievements() == null ? 0 : user.getAchievements());
         this.position = userPosition;
         this.firstName = user.getFirstName();
         this.lastName = user.getLastName();
         this.createdAt = user.getCreatedAt();
     }
+
+    private static int valueOrZero(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private static Double averageGuesses(int[] distribution) {
+        long solved = 0;
+        long guesses = 0;
+        for (int i = 0; i < distribution.length; i++) {
+            solved += distribution[i];
+            guesses += (long) (i + 1) * distribution[i];
+        }
+        return solved == 0 ? null : (double) guesses / solved;
+    }
 }
@@ -0,0 +1,62 @@
+package abs.wordle.userservice.dto;
+
+import lombok.Data;
+
+/**
+ * Stat increments for one user, accumulated in order over a batch of game results. Besides the
+ * counters it keeps the shape of the batch's win runs, which is all that is needed to advance
+ * the stored streaks without knowing the rest of the user's history. The finish times bound the
+ * batch, so a batch that is older than what is stored can leave the streaks alone.
+ */
+@Data
+public class UserStatsDelta {
+    public static final int MAX_ATTEMPTS = 6;
+
+    private final Long userId;
+    private int wins;
+    private int losses;
+    /** Wins before the first loss of the batch; they extend the stored current streak. */
+    private int leadingWins;
+    /** Wins after the last loss of the batch, i.e. the streak the batch ends with. */
+    private int trailingWins;
+    /** Longest run of wins inside the batch. */
+    private int longestRun;
+    private boolean lost;
+    /** Wins by number of guesses used; index 0 is a solve at the first guess. */
+    private final int[] solvedIn = new int[MAX_ATTEMPTS];
+    private Long firstFinishedAt;
+    private Long lastFinishedAt;
+
+    public void recordWin(int attempts, Long finishedAt) {
+        wins++;
+        if (!lost) {
+            leadingWins++;
+        }
+        trailingWins++;
+        longestRun = Math.max(longestRun, trailingWins);
+        // results from producers that did not report attempts count as wins only
+        if (attempts >= 1 && attempts <= MAX_ATTEMPTS) {
+            solvedIn[attempts - 1]++;
+        }
+        recordFinish(finishedAt);
+    }
+
+    public void recordLoss(Long finishedAt) {
+        losses++;
+        lost = true;
+        trailingWins = 0;
+        recordFinish(finishedAt);
+    }
+
+    private void recordFinish(Long finishedAt) {
+        if (finishedAt == null) {
+            return;
+        }
+        if (firstFinishedAt == null || finishedAt < firstFinishedAt) {
+            firstFinishedAt = finishedAt;
+        }
+        if (lastFinishedAt == null || finishedAt > lastFinishedAt) {
+            lastFinishedAt = finishedAt;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package abs.wordle.userservice.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Badges and the threshold that earns each. A badge is stored as bit {@link #ordinal()} of the
+ * user's achievements mask, so new badges are appended and existing ones never reordered.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Achievement {
+    FIRST_WIN(AchievementMetric.WINS, 1),
+    WINS_10(AchievementMetric.WINS, 10),
+    WINS_100(AchievementMetric.WINS, 100),
+    WINS_1000(AchievementMetric.WINS, 1000),
+    SOLVED_IN_1(AchievementMetric.SOLVED_IN, 1),
+    SOLVED_IN_2(AchievementMetric.SOLVED_IN, 2),
+    SOLVED_IN_3(AchievementMetric.SOLVED_IN, 3),
+    WIN_STREAK_5(AchievementMetric.WIN_STREAK, 5),
+    WIN_STREAK_25(AchievementMetric.WIN_STREAK, 25),
+    DAILY_STREAK_7(AchievementMetric.DAILY_STREAK, 7),
+    DAILY_STREAK_30(AchievementMetric.DAILY_STREAK, 30),
+    DAILY_STREAK_365(AchievementMetric.DAILY_STREAK, 365);
+
+    private final AchievementMetric metric;
+    private final int threshold;
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    public static List<Achievement> fromMask(long mask) {
+        List<Achievement> achievements = new ArrayList<>();
+        for (Achievement achievement : values()) {
+            if ((mask & achievement.bit()) != 0) {
+                achievements.add(achievement);
+            }
+        }
+        return achievements;
+    }
+}
@@ -0,0 +1,19 @@
+package abs.wordle.userservice.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** Per-user values achievements are awarded on. */
+@Getter
+@RequiredArgsConstructor
+public enum AchievementMetric {
+    WINS(false),
+    WIN_STREAK(false),
+    /** Consecutive UTC days with at least one finished game. */
+    DAILY_STREAK(false),
+    /** Guesses used by a win; a badge for solving in N is also earned by solving in fewer. */
+    SOLVED_IN(true);
+
+    /** Whether a badge's threshold is reached by values at or below it rather than above it. */
+    private final boolean lowerIsBetter;
+}
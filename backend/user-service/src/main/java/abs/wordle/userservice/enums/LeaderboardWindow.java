@@ -0,0 +1,11 @@
+package abs.wordle.userservice.enums;
+
+/** Time windows of the wins leaderboards, all in UTC. */
+public enum LeaderboardWindow {
+    /** The current day. */
+    DAY,
+    /** The current ISO week, from Monday. */
+    WEEK,
+    /** The current season of {@code wordle.seasons.length-days} days. */
+    SEASON
+}
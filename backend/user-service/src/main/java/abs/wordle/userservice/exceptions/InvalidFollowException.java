@@ -0,0 +1,7 @@
+package abs.wordle.userservice.exceptions;
+
+public class InvalidFollowException extends RuntimeException {
+    public InvalidFollowException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,36 @@
+package abs.wordle.userservice.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/** One user following another. The primary key serves "who do I follow", the index "who follows me". */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@IdClass(Follow.Key.class)
+@Table(name = "follows", indexes = @Index(name = "idx_follows_followee", columnList = "followeeId, followerId"))
+public class Follow {
+    @Id
+    private Long followerId;
+    @Id
+    private Long followeeId;
+    private LocalDateTime createdAt;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private Long followerId;
+        private Long followeeId;
+    }
+}
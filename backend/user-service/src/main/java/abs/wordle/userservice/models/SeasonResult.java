@@ -0,0 +1,37 @@
+package abs.wordle.userservice.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/** Final standing of a user in a finished season. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@IdClass(SeasonResult.Key.class)
+@Table(name = "season_results", indexes = @Index(name = "idx_season_results_rank", columnList = "season, rank"))
+public class SeasonResult {
+    @Id
+    private Integer season;
+    @Id
+    private Long userId;
+    private String username;
+    private Integer wins;
+    private Long rank;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private Integer season;
+        private Long userId;
+    }
+}
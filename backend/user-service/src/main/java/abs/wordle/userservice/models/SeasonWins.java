@@ -0,0 +1,38 @@
+package abs.wordle.userservice.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Wins of one user in one season. Rows of the current season are live counters; once a season
+ * has ended they are ranked into {@link SeasonResult} and removed.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@IdClass(SeasonWins.Key.class)
+@Table(name = "season_wins", indexes = @Index(name = "idx_season_wins_season_wins", columnList = "season, wins"))
+public class SeasonWins {
+    @Id
+    private Integer season;
+    @Id
+    private Long userId;
+    private Integer wins;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private Integer season;
+        private Long userId;
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
@@ -20,7 +21,10 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_rating", columnList = "rating"),
+        @Index(name = "idx_users_wins_id", columnList = "wins, id")
+})
 public class User implements UserDetails {
     @Id
     @GeneratedValue
@@ -33,6 +37,19 @@ public class User implements UserDetails {
 
     private Integer wins;
     private Integer losses;
+    // maintained incrementally by UserStatsRepository from game results
+    private Integer currentStreak;
+    private Integer maxStreak;
+    /** Wins by number of guesses used, six entries; null until the first counted win. */
+    private int[] guessDistribution;
+    private LocalDateTime lastFinishedAt;
+    // skill rating, maintained by SkillRatingService; null until the first rated game
+    private Double rating;
+    private Integer ratedGames;
+    /** Earned badges, one bit per {@link abs.wordle.userservice.enums.Achievement}. */
+    private Long achievements;
+    private Integer dailyStreak;
+    private LocalDate lastPlayedOn;
     private String firstName;
     private String lastName;
 
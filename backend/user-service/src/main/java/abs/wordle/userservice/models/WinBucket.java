@@ -0,0 +1,40 @@
+package abs.wordle.userservice.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Wins of one user on one day, in a ring of {@code WindowedLeaderboardRepository#RING_DAYS} slots
+ * per user. A slot is reused when its day comes round again, which is how old days roll off.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@IdClass(WinBucket.Key.class)
+@Table(name = "win_buckets", indexes = @Index(name = "idx_win_buckets_day", columnList = "day, userId"))
+public class WinBucket {
+    @Id
+    private Long userId;
+    @Id
+    private Integer slot;
+    private LocalDate day;
+    private Integer wins;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Integer slot;
+    }
+}
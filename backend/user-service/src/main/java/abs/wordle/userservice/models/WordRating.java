@@ -0,0 +1,22 @@
+package abs.wordle.userservice.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Difficulty of an answer word, rated like an opponent the players win or lose against. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "word_ratings")
+public class WordRating {
+    /** The word packed five bits per letter, as sent by game-service. */
+    @Id
+    private Integer wordCode;
+    private Double rating;
+    private Integer games;
+}
@@ -0,0 +1,24 @@
+package abs.wordle.userservice.producers;
+
+import abs.wordle.events.UserEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserEventProducer {
+    public static final String USER_EVENTS_TOPIC = "user-events-topic";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    // only published once the user row is committed, so consumers never see a rolled-back user
+    @TransactionalEventListener(fallbackExecution = true)
+    public void sendUserEvent(UserEvent event) {
+        log.debug("Publishing {} event for user {}", event.getType(), event.getUserId());
+        kafkaTemplate.send(USER_EVENTS_TOPIC, String.valueOf(event.getUserId()), event);
+    }
+}
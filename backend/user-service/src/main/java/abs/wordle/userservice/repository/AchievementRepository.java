@@ -0,0 +1,68 @@
+package abs.wordle.userservice.repository;
+
+import abs.wordle.userservice.dto.AchievementProgress;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class AchievementRepository {
+    private static final String FIND_PROGRESS_SQL = """
+            SELECT id, COALESCE(wins, 0), COALESCE(currentStreak, 0), COALESCE(dailyStreak, 0),
+                   lastPlayedOn, COALESCE(achievements, 0), lastFinishedAt
+            FROM user_schema.users WHERE id = ANY(?)""";
+    // badges are OR-ed in, so a replayed batch can never take one away
+    private static final String SAVE_PROGRESS_SQL = """
+            UPDATE user_schema.users SET
+                achievements = COALESCE(achievements, 0) | ?,
+                dailyStreak = ?,
+                lastPlayedOn = ?
+            WHERE id = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Progress of the given users as stored before the current batch; unknown users are left out. */
+    public Map<Long, AchievementProgress> findProgress(Collection<Long> userIds) {
+        Map<Long, AchievementProgress> progress = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return progress;
+        }
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(FIND_PROGRESS_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", userIds.toArray()));
+            return statement;
+        }, resultSet -> {
+            long id = resultSet.getLong(1);
+            Timestamp lastFinishedAt = resultSet.getTimestamp(7);
+            progress.put(id, new AchievementProgress(id, resultSet.getInt(2), resultSet.getInt(3),
+                    resultSet.getInt(4), resultSet.getObject(5, LocalDate.class), resultSet.getLong(6),
+                    lastFinishedAt == null ? null : lastFinishedAt.getTime()));
+        });
+        return progress;
+    }
+
+    /** Writes badges and daily streaks of a whole batch in one JDBC batch, in id order. */
+    public void saveProgress(Collection<AchievementProgress> progress) {
+        if (progress.isEmpty()) {
+            return;
+        }
+        List<AchievementProgress> ordered = progress.stream()
+                .sorted(Comparator.comparingLong(AchievementProgress::getUserId))
+                .toList();
+        jdbcTemplate.batchUpdate(SAVE_PROGRESS_SQL, ordered, ordered.size(), (ps, user) -> {
+            ps.setLong(1, user.getAchievements());
+            ps.setInt(2, user.getDailyStreak());
+            ps.setObject(3, user.getLastPlayedOn());
+            ps.setLong(4, user.getUserId());
+        });
+    }
+}
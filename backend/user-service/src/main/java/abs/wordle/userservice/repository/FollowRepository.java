@@ -0,0 +1,60 @@
+package abs.wordle.userservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class FollowRepository {
+    private static final String FOLLOW_SQL = """
+            INSERT INTO user_schema.follows (followerId, followeeId, createdAt) VALUES (?, ?, now())
+            ON CONFLICT (followerId, followeeId) DO NOTHING""";
+    private static final String UNFOLLOW_SQL = "DELETE FROM user_schema.follows WHERE followerId = ? AND followeeId = ?";
+    private static final String DELETE_USER_SQL = "DELETE FROM user_schema.follows WHERE followerId = ? OR followeeId = ?";
+    private static final String ALL_EDGES_SQL = "SELECT followerId, followeeId FROM user_schema.follows";
+    private static final String FOLLOWEES_SQL = "SELECT followeeId FROM user_schema.follows WHERE followerId = ? ORDER BY followeeId";
+    private static final int FETCH_SIZE = 10000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Returns false if the user already followed the other one. */
+    public boolean follow(long followerId, long followeeId) {
+        return jdbcTemplate.update(FOLLOW_SQL, followerId, followeeId) > 0;
+    }
+
+    public boolean unfollow(long followerId, long followeeId) {
+        return jdbcTemplate.update(UNFOLLOW_SQL, followerId, followeeId) > 0;
+    }
+
+    public void deleteAllOf(long userId) {
+        jdbcTemplate.update(DELETE_USER_SQL, userId, userId);
+    }
+
+    public long[] findFollowees(long followerId) {
+        return jdbcTemplate.queryForList(FOLLOWEES_SQL, Long.class, followerId).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    /** Streams every edge through a server-side cursor, which PostgreSQL only keeps open inside a transaction. */
+    @Transactional(readOnly = true)
+    public int forEachEdge(EdgeConsumer sink) {
+        int[] count = new int[1];
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(ALL_EDGES_SQL);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, resultSet -> {
+            sink.accept(resultSet.getLong(1), resultSet.getLong(2));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    @FunctionalInterface
+    public interface EdgeConsumer {
+        void accept(long followerId, long followeeId);
+    }
+}
@@ -0,0 +1,57 @@
+package abs.wordle.userservice.repository;
+
+import abs.wordle.userservice.dto.LeaderboardEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class LeaderboardRepository {
+    private static final String ALL_STANDINGS_SQL = "SELECT id, username, COALESCE(wins, 0) FROM user_schema.users";
+    private static final String FIND_STANDINGS_SQL = ALL_STANDINGS_SQL + " WHERE id = ANY(?)";
+    private static final int FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Streams every user through a server-side cursor, so loading the leaderboard never holds
+     * the whole table in memory twice. The cursor only works inside a transaction in PostgreSQL.
+     */
+    @Transactional(readOnly = true)
+    public int forEachStanding(Consumer<LeaderboardEntry> sink) {
+        int[] count = new int[1];
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(ALL_STANDINGS_SQL);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, resultSet -> {
+            sink.accept(new LeaderboardEntry(resultSet.getLong(1), resultSet.getString(2), resultSet.getInt(3)));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /** Current standings of the given users; users that no longer exist are left out. */
+    public Map<Long, LeaderboardEntry> findStandings(Collection<Long> userIds) {
+        Map<Long, LeaderboardEntry> standings = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return standings;
+        }
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(FIND_STANDINGS_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", userIds.toArray()));
+            return statement;
+        }, resultSet -> {
+            long id = resultSet.getLong(1);
+            standings.put(id, new LeaderboardEntry(id, resultSet.getString(2), resultSet.getInt(3)));
+        });
+        return standings;
+    }
+}
@@ -0,0 +1,97 @@
+package abs.wordle.userservice.repository;
+
+import abs.wordle.userservice.dto.SkillRating;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class SkillRatingRepository {
+    public static final double INITIAL_RATING = 1500;
+
+    private static final String FIND_PLAYERS_SQL = """
+            SELECT id, COALESCE(rating, 1500), COALESCE(ratedGames, 0)
+            FROM user_schema.users WHERE id = ANY(?)""";
+    private static final String FIND_WORDS_SQL = """
+            SELECT wordCode, rating, games
+            FROM user_schema.word_ratings WHERE wordCode = ANY(?)""";
+    private static final String ADD_PLAYER_DELTA_SQL = """
+            UPDATE user_schema.users SET
+                rating = COALESCE(rating, 1500) + ?,
+                ratedGames = COALESCE(ratedGames, 0) + ?
+            WHERE id = ?""";
+    private static final String ADD_WORD_DELTA_SQL = """
+            INSERT INTO user_schema.word_ratings AS w (wordCode, rating, games) VALUES (?, 1500 + ?, ?)
+            ON CONFLICT (wordCode) DO UPDATE SET
+                rating = w.rating + ?,
+                games = w.games + EXCLUDED.games""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Current ratings of the given users; users that do not exist are left out. */
+    public Map<Long, SkillRating> findPlayers(Collection<Long> userIds) {
+        return find(FIND_PLAYERS_SQL, "bigint", userIds.toArray());
+    }
+
+    /** Stored ratings of the given words; words nobody has played yet are left out. */
+    public Map<Long, SkillRating> findWords(Collection<Long> wordCodes) {
+        return find(FIND_WORDS_SQL, "integer", wordCodes.stream().map(Long::intValue).toArray());
+    }
+
+    /**
+     * Writes the accumulated deltas back as in-place increments, one JDBC batch per table, in
+     * id order so two batches never deadlock. Word rows are shared by all consumer threads;
+     * adding deltas instead of overwriting keeps their concurrent updates from being lost.
+     */
+    public void addDeltas(Collection<SkillRating> players, Collection<SkillRating> words) {
+        List<SkillRating> orderedPlayers = ordered(players);
+        if (!orderedPlayers.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_PLAYER_DELTA_SQL, orderedPlayers, orderedPlayers.size(), (ps, player) -> {
+                ps.setDouble(1, player.getDelta());
+                ps.setInt(2, player.getNewGames());
+                ps.setLong(3, player.getId());
+            });
+        }
+        List<SkillRating> orderedWords = ordered(words);
+        if (!orderedWords.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_WORD_DELTA_SQL, orderedWords, orderedWords.size(), (ps, word) -> {
+                ps.setInt(1, (int) word.getId());
+                ps.setDouble(2, word.getDelta());
+                ps.setInt(3, word.getNewGames());
+                ps.setDouble(4, word.getDelta());
+            });
+        }
+    }
+
+    private Map<Long, SkillRating> find(String sql, String elementType, Object[] ids) {
+        Map<Long, SkillRating> ratings = new HashMap<>();
+        if (ids.length == 0) {
+            return ratings;
+        }
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            Array array = connection.createArrayOf(elementType, ids);
+            statement.setArray(1, array);
+            return statement;
+        }, resultSet -> {
+            long id = resultSet.getLong(1);
+            ratings.put(id, new SkillRating(id, resultSet.getDouble(2), resultSet.getInt(3)));
+        });
+        return ratings;
+    }
+
+    private static List<SkillRating> ordered(Collection<SkillRating> ratings) {
+        return ratings.stream()
+                .filter(rating -> rating.getNewGames() > 0)
+                .sorted(Comparator.comparingLong(SkillRating::getId))
+                .toList();
+    }
+}
@@ -27,4 +27,27 @@ public interface UserRepository extends JpaRepository<User, Long> {
             nativeQuery = true
     )
     Optional<Long> findUserRankByUsername(@Param("username") String username);
+
+    // both seek on the (wins, id) index from the user's own key, so they read only the rows returned
+    @Query(
+            value = "SELECT * FROM user_schema.users WHERE (wins, id) > (:wins, :id) ORDER BY wins, id LIMIT :size",
+            nativeQuery = true
+    )
+    List<User> findPlayersAbove(@Param("wins") int wins, @Param("id") long id, @Param("size") int size);
+
+    @Query(
+            value = "SELECT * FROM user_schema.users WHERE (wins, id) < (:wins, :id) ORDER BY wins DESC, id DESC LIMIT :size",
+            nativeQuery = true
+    )
+    List<User> findPlayersBelow(@Param("wins") int wins, @Param("id") long id, @Param("size") int size);
+
+    List<User> findAllByRatingNotNullOrderByRatingDesc(Pageable pageable);
+
+    // answered from the rating index rather than by ranking the whole table
+    @Query(
+            value = "SELECT COUNT(*) + 1 FROM user_schema.users " +
+                    "WHERE rating > (SELECT rating FROM user_schema.users WHERE username = :username)",
+            nativeQuery = true
+    )
+    Optional<Long> findUserRatingRankByUsername(@Param("username") String username);
 }
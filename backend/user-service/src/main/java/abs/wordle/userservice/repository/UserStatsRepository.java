@@ -0,0 +1,90 @@
+package abs.wordle.userservice.repository;
+
+import abs.wordle.userservice.dto.UserStatsDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class UserStatsRepository {
+    // every right-hand side sees the row as it was before the update, so maxStreak is computed
+    // from the old currentStreak; unquoted camelCase columns fold to lower case in PostgreSQL.
+    // A batch that started before the stored last finish was held up in the retry chain while
+    // later results were applied; it still counts, but its runs cannot be placed in the streaks
+    private static final String INCREMENT_STATS_SQL = """
+            UPDATE user_schema.users SET
+                wins = COALESCE(wins, 0) + ?,
+                losses = COALESCE(losses, 0) + ?,
+                maxStreak = CASE WHEN COALESCE(? >= lastFinishedAt, TRUE)
+                    THEN GREATEST(COALESCE(maxStreak, 0), COALESCE(currentStreak, 0) + ?, ?)
+                    ELSE maxStreak END,
+                currentStreak = CASE WHEN COALESCE(? >= lastFinishedAt, TRUE)
+                    THEN CASE WHEN ? THEN ? ELSE COALESCE(currentStreak, 0) + ? END
+                    ELSE currentStreak END,
+                guessDistribution = ARRAY[
+                    COALESCE(guessDistribution[1], 0) + ?,
+                    COALESCE(guessDistribution[2], 0) + ?,
+                    COALESCE(guessDistribution[3], 0) + ?,
+                    COALESCE(guessDistribution[4], 0) + ?,
+                    COALESCE(guessDistribution[5], 0) + ?,
+                    COALESCE(guessDistribution[6], 0) + ?],
+                lastFinishedAt = GREATEST(lastFinishedAt, ?)
+            WHERE id = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the deltas to the stored counters and advances the streaks in one JDBC batch and one
+     * transaction, so a profile read never has to look at game history. The increment happens in
+     * the database, so concurrent writers cannot lose updates; rows are touched in id order so two
+     * batches never deadlock. Returns the number of users that exist and were updated.
+     */
+    @Transactional
+    public int incrementStats(Collection<UserStatsDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        List<UserStatsDelta> ordered = deltas.stream()
+                .sorted(Comparator.comparing(UserStatsDelta::getUserId))
+                .toList();
+        int[][] counts = jdbcTemplate.batchUpdate(INCREMENT_STATS_SQL, ordered, ordered.size(), (ps, delta) -> {
+            int i = 1;
+            Timestamp firstFinishedAt = timestamp(delta.getFirstFinishedAt());
+            ps.setInt(i++, delta.getWins());
+            ps.setInt(i++, delta.getLosses());
+            ps.setTimestamp(i++, firstFinishedAt);
+            ps.setInt(i++, delta.getLeadingWins());
+            ps.setInt(i++, delta.getLongestRun());
+            ps.setTimestamp(i++, firstFinishedAt);
+            ps.setBoolean(i++, delta.isLost());
+            ps.setInt(i++, delta.getTrailingWins());
+            ps.setInt(i++, delta.getTrailingWins());
+            for (int solved : delta.getSolvedIn()) {
+                ps.setInt(i++, solved);
+            }
+            ps.setTimestamp(i++, timestamp(delta.getLastFinishedAt()));
+            ps.setLong(i, delta.getUserId());
+        });
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // drivers may report SUCCESS_NO_INFO (-2) for batched statements
+                if (count != 0) {
+                    updated++;
+                }
+            }
+        }
+        return updated;
+    }
+
+    private static Timestamp timestamp(Long epochMillis) {
+        return epochMillis == null ? null : new Timestamp(epochMillis);
+    }
+}
@@ -0,0 +1,144 @@
+package abs.wordle.userservice.repository;
+
+import abs.wordle.userservice.dto.DailyWins;
+import abs.wordle.userservice.dto.RankedPlayer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class WindowedLeaderboardRepository {
+    /** Day slots per user; enough for the longest bucketed window, a week. */
+    public static final int RING_DAYS = 7;
+
+    // a slot holding an older day is taken over; a result older than the slot's day is not
+    // counted, as its day has already rolled off
+    private static final String ADD_DAILY_WINS_SQL = """
+            INSERT INTO user_schema.win_buckets AS b (userId, slot, day, wins) VALUES (?, ?, ?, ?)
+            ON CONFLICT (userId, slot) DO UPDATE SET
+                wins = CASE
+                    WHEN b.day = EXCLUDED.day THEN b.wins + EXCLUDED.wins
+                    WHEN b.day < EXCLUDED.day THEN EXCLUDED.wins
+                    ELSE b.wins END,
+                day = GREATEST(b.day, EXCLUDED.day)""";
+    private static final String ADD_SEASON_WINS_SQL = """
+            INSERT INTO user_schema.season_wins AS s (season, userId, wins) VALUES (?, ?, ?)
+            ON CONFLICT (season, userId) DO UPDATE SET wins = s.wins + EXCLUDED.wins""";
+    private static final String TOP_SINCE_SQL = """
+            SELECT u.username, t.wins, RANK() OVER (ORDER BY t.wins DESC)
+            FROM (SELECT userId, SUM(wins) AS wins FROM user_schema.win_buckets
+                  WHERE day >= ? GROUP BY userId ORDER BY wins DESC, userId DESC LIMIT ?) t
+            JOIN user_schema.users u ON u.id = t.userId
+            ORDER BY t.wins DESC, t.userId DESC""";
+    private static final String WINS_SINCE_SQL = """
+            SELECT COALESCE(SUM(wins), 0) FROM user_schema.win_buckets WHERE userId = ? AND day >= ?""";
+    private static final String RANK_SINCE_SQL = """
+            SELECT COUNT(*) + 1 FROM (
+                SELECT userId FROM user_schema.win_buckets WHERE day >= ? GROUP BY userId HAVING SUM(wins) > ?
+            ) ahead""";
+    private static final String TOP_SEASON_SQL = """
+            SELECT u.username, s.wins, RANK() OVER (ORDER BY s.wins DESC)
+            FROM (SELECT userId, wins FROM user_schema.season_wins
+                  WHERE season = ? ORDER BY wins DESC, userId DESC LIMIT ?) s
+            JOIN user_schema.users u ON u.id = s.userId
+            ORDER BY s.wins DESC, s.userId DESC""";
+    private static final String SEASON_WINS_SQL = """
+            SELECT COALESCE((SELECT wins FROM user_schema.season_wins WHERE season = ? AND userId = ?), 0)""";
+    private static final String RANK_IN_SEASON_SQL = """
+            SELECT COUNT(*) + 1 FROM user_schema.season_wins WHERE season = ? AND wins > ?""";
+    private static final String SEASONS_BEFORE_SQL = """
+            SELECT DISTINCT season FROM user_schema.season_wins WHERE season < ? ORDER BY season""";
+    private static final String ARCHIVE_SEASON_SQL = """
+            INSERT INTO user_schema.season_results (season, userId, username, wins, rank)
+            SELECT s.season, s.userId, u.username, s.wins, RANK() OVER (ORDER BY s.wins DESC)
+            FROM user_schema.season_wins s JOIN user_schema.users u ON u.id = s.userId
+            WHERE s.season = ?
+            ON CONFLICT (season, userId) DO NOTHING""";
+    private static final String DELETE_SEASON_SQL = "DELETE FROM user_schema.season_wins WHERE season = ?";
+    private static final String ARCHIVED_TOP_SQL = """
+            SELECT username, wins, rank FROM user_schema.season_results
+            WHERE season = ? ORDER BY rank, userId DESC LIMIT ?""";
+
+    private static final RowMapper<RankedPlayer> RANKED_PLAYER = (resultSet, rowNum) ->
+            new RankedPlayer(resultSet.getLong(3), resultSet.getString(1), resultSet.getInt(2));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Adds the first entries to their day slots and the second to their seasons, one JDBC batch each. */
+    public void addWins(Collection<DailyWins> dailyWins, Collection<DailyWins> seasonWins) {
+        List<DailyWins> days = ordered(dailyWins);
+        if (!days.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_DAILY_WINS_SQL, days, days.size(), (ps, wins) -> {
+                ps.setLong(1, wins.userId());
+                ps.setInt(2, (int) Math.floorMod(wins.day().toEpochDay(), RING_DAYS));
+                ps.setObject(3, wins.day());
+                ps.setInt(4, wins.wins());
+            });
+        }
+        List<DailyWins> seasons = ordered(seasonWins);
+        if (!seasons.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_SEASON_WINS_SQL, seasons, seasons.size(), (ps, wins) -> {
+                ps.setInt(1, wins.season());
+                ps.setLong(2, wins.userId());
+                ps.setInt(3, wins.wins());
+            });
+        }
+    }
+
+    public List<RankedPlayer> findTopSince(LocalDate from, int limit) {
+        return jdbcTemplate.query(TOP_SINCE_SQL, RANKED_PLAYER, from, limit);
+    }
+
+    public int findWinsSince(long userId, LocalDate from) {
+        return jdbcTemplate.queryForObject(WINS_SINCE_SQL, Integer.class, userId, from);
+    }
+
+    public long findRankSince(LocalDate from, int wins) {
+        return jdbcTemplate.queryForObject(RANK_SINCE_SQL, Long.class, from, wins);
+    }
+
+    public List<RankedPlayer> findTopInSeason(int season, int limit) {
+        return jdbcTemplate.query(TOP_SEASON_SQL, RANKED_PLAYER, season, limit);
+    }
+
+    public int findWinsInSeason(long userId, int season) {
+        return jdbcTemplate.queryForObject(SEASON_WINS_SQL, Integer.class, season, userId);
+    }
+
+    public long findRankInSeason(int season, int wins) {
+        return jdbcTemplate.queryForObject(RANK_IN_SEASON_SQL, Long.class, season, wins);
+    }
+
+    public List<Integer> findSeasonsBefore(int season) {
+        return jdbcTemplate.queryForList(SEASONS_BEFORE_SQL, Integer.class, season);
+    }
+
+    /**
+     * Ranks a finished season into season_results and drops its counters, as two set-based
+     * statements in one transaction. Safe to repeat: archived rows are never overwritten.
+     */
+    @Transactional
+    public int archiveSeason(int season) {
+        int archived = jdbcTemplate.update(ARCHIVE_SEASON_SQL, season);
+        jdbcTemplate.update(DELETE_SEASON_SQL, season);
+        return archived;
+    }
+
+    public List<RankedPlayer> findArchivedTop(int season, int limit) {
+        return jdbcTemplate.query(ARCHIVED_TOP_SQL, RANKED_PLAYER, season, limit);
+    }
+
+    private static List<DailyWins> ordered(Collection<DailyWins> wins) {
+        return wins.stream()
+                .sorted(Comparator.comparingLong(DailyWins::userId).thenComparing(DailyWins::day))
+                .toList();
+    }
+}
@@ -0,0 +1,96 @@
+package abs.wordle.userservice.services;
+
+import abs.wordle.userservice.dto.AchievementProgress;
+import abs.wordle.userservice.enums.Achievement;
+import abs.wordle.userservice.enums.AchievementMetric;
+
+import java.time.LocalDate;
+
+/**
+ * Achievement rules compiled into one lookup table per metric: entry {@code v} holds the mask of
+ * every badge the value {@code v} qualifies for. Applying a result advances the user's metrics
+ * and ORs in one entry per metric, so it costs the same whatever the number of rules or games.
+ * Thresholds are "reached", not "crossed", so a user whose counters predate a badge earns it on
+ * their next game.
+ */
+public final class AchievementEvaluator {
+    private final long[][] masks;
+
+    private AchievementEvaluator(long[][] masks) {
+        this.masks = masks;
+    }
+
+    public static AchievementEvaluator compile(Achievement... achievements) {
+        AchievementMetric[] metrics = AchievementMetric.values();
+        long[][] masks = new long[metrics.length][];
+        for (AchievementMetric metric : metrics) {
+            int maxThreshold = 0;
+            for (Achievement achievement : achievements) {
+                if (achievement.getMetric() == metric) {
+                    maxThreshold = Math.max(maxThreshold, achievement.getThreshold());
+                }
+            }
+            long[] table = new long[maxThreshold + 1];
+            for (Achievement achievement : achievements) {
+                if (achievement.getMetric() != metric) {
+                    continue;
+                }
+                int threshold = achievement.getThreshold();
+                int from = metric.isLowerIsBetter() ? 1 : threshold;
+                int to = metric.isLowerIsBetter() ? threshold : maxThreshold;
+                for (int value = from; value <= to; value++) {
+                    table[value] |= achievement.bit();
+                }
+            }
+            masks[metric.ordinal()] = table;
+        }
+        return new AchievementEvaluator(masks);
+    }
+
+    /** Badges a metric value qualifies for. */
+    public long reached(AchievementMetric metric, int value) {
+        long[] table = masks[metric.ordinal()];
+        if (value < 0 || table.length == 0) {
+            return 0;
+        }
+        if (value >= table.length) {
+            return metric.isLowerIsBetter() ? 0 : table[table.length - 1];
+        }
+        return table[value];
+    }
+
+    /**
+     * Advances the progress by one finished game, played on {@code day} (UTC) and finished at
+     * {@code finishedAt}, and returns the badges it newly earned. {@code attempts} is 0 and
+     * {@code finishedAt} null when the producer did not report them. A result that finished before
+     * the last one applied still counts, but leaves the win streak as it is.
+     */
+    public long apply(AchievementProgress progress, boolean won, int attempts, LocalDate day, Long finishedAt) {
+        if (won) {
+            progress.setWins(progress.getWins() + 1);
+        }
+        Long last = progress.getLastFinishedAt();
+        if (finishedAt == null || last == null || finishedAt >= last) {
+            progress.setWinStreak(won ? progress.getWinStreak() + 1 : 0);
+            if (finishedAt != null) {
+                progress.setLastFinishedAt(finishedAt);
+            }
+        }
+        LocalDate lastDay = progress.getLastPlayedOn();
+        if (lastDay == null || day.isAfter(lastDay.plusDays(1))) {
+            progress.setDailyStreak(1);
+            progress.setLastPlayedOn(day);
+        } else if (day.equals(lastDay.plusDays(1))) {
+            progress.setDailyStreak(progress.getDailyStreak() + 1);
+            progress.setLastPlayedOn(day);
+        }
+        // a second game on the same day, or a late result from an earlier day, leaves the streak as it is
+        long earned = reached(AchievementMetric.WINS, progress.getWins())
+                | reached(AchievementMetric.WIN_STREAK, progress.getWinStreak())
+                | reached(AchievementMetric.DAILY_STREAK, progress.getDailyStreak())
+                | (won ? reached(AchievementMetric.SOLVED_IN, attempts) : 0);
+        long awarded = earned & ~progress.getAchievements();
+        progress.setAchievements(progress.getAchievements() | earned);
+        return awarded;
+    }
+}
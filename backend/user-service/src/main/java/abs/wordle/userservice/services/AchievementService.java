@@ -0,0 +1,77 @@
+package abs.wordle.userservice.services;
+
+import abs.wordle.events.GameFinishedEvent;
+import abs.wordle.events.GameResult;
+import abs.wordle.userservice.dto.AchievementProgress;
+import abs.wordle.userservice.enums.Achievement;
+import abs.wordle.userservice.repository.AchievementRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Awards badges as game results arrive. A batch costs one read of the users' progress and one
+ * batched write, and every result in it one pass of the compiled {@link AchievementEvaluator}.
+ */
+@Slf4j
+@Service
+public class AchievementService {
+    private static final AchievementEvaluator evaluator = AchievementEvaluator.compile(Achievement.values());
+
+    private final AchievementRepository achievementRepository;
+    private final Counter awardedBadges;
+
+    public AchievementService(AchievementRepository achievementRepository, MeterRegistry meterRegistry) {
+        this.achievementRepository = achievementRepository;
+        this.awardedBadges = meterRegistry.counter("wordle.achievements.awarded");
+    }
+
+    /**
+     * Evaluates a batch of results in play order. Must run before the batch's stats are applied:
+     * win counts and streaks are read as they were before the batch and advanced here. Results the
+     * retry chain delivers after later ones are recognised by finish time and skip the win streak.
+     */
+    @Transactional
+    public int applyResults(Collection<GameFinishedEvent> events) {
+        Set<Long> userIds = new HashSet<>();
+        for (GameFinishedEvent event : events) {
+            if (event.getUserId() != null) {
+                userIds.add(event.getUserId());
+            }
+        }
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        Map<Long, AchievementProgress> progress = achievementRepository.findProgress(userIds);
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        int awarded = 0;
+        for (GameFinishedEvent event : events) {
+            AchievementProgress user = event.getUserId() == null ? null : progress.get(event.getUserId());
+            if (user == null) {
+                continue;
+            }
+            LocalDate day = event.getFinishedAt() == null
+                    ? today
+                    : Instant.ofEpochMilli(event.getFinishedAt()).atZone(ZoneOffset.UTC).toLocalDate();
+            long badges = evaluator.apply(user, event.getResult() == GameResult.WIN, event.getAttempts(), day,
+                    event.getFinishedAt());
+            if (badges != 0) {
+                awarded += Long.bitCount(badges);
+                log.debug("User {} earned {}", user.getUserId(), Achievement.fromMask(badges));
+            }
+        }
+        achievementRepository.saveProgress(progress.values());
+        awardedBadges.increment(awarded);
+        return awarded;
+    }
+}
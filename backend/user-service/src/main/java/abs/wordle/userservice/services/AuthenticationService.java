@@ -1,5 +1,7 @@
 package abs.wordle.userservice.services;
 
+import abs.wordle.events.UserEvent;
+import abs.wordle.events.UserEventType;
 import abs.wordle.userservice.dto.AuthenticationRequestDTO;
 import abs.wordle.userservice.dto.AuthenticationResponseDTO;
 import abs.wordle.userservice.dto.UserRequestDTO;
@@ -9,6 +11,7 @@ import abs.wordle.userservice.repository.UserRepository;
 import abs.wordle.userservice.security.JwtService;
 import lombok.RequiredArgsConstructor;
 import abs.wordle.userservice.models.User;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -25,6 +28,7 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     public AuthenticationResponseDTO register(UserRequestDTO request) {
         if(userRepository.findByUsername(request.getUsername()).isPresent()) {
@@ -40,8 +44,13 @@ public class AuthenticationService {
                 .createdAt(LocalDateTime.now())
                 .role(UserRole.USER)
                 .build();
-        userRepository.save(user);
-        var jwtToken = jwtService.generateToken(user);
+        var savedUser = userRepository.save(user);
+        applicationEventPublisher.publishEvent(UserEvent.newBuilder()
+                .setUserId(savedUser.getId())
+                .setUsername(savedUser.getUsername())
+                .setType(UserEventType.CREATED)
+                .build());
+        var jwtToken = jwtService.generateToken(savedUser);
         return AuthenticationResponseDTO.builder()
                 .token(jwtToken)
                 .build();
@@ -0,0 +1,149 @@
+package abs.wordle.userservice.services;
+
+import abs.wordle.userservice.consumers.GameEventConsumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves records from the game-finished dead-letter topic back onto the main topic, bytes as-is.
+ * Offsets are committed only after the republished records are acknowledged, so an interrupted
+ * replay repeats records rather than losing them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeadLetterReplayService {
+    public static final String REPLAY_GROUP = "user-service-dlt-replay";
+
+    private final KafkaProperties kafkaProperties;
+    // one replay at a time
+    private final ReentrantLock replayLock = new ReentrantLock();
+
+    public int replay(int max) {
+        // max.poll.records must be at least 1, so an empty replay never builds a consumer
+        if (max <= 0) {
+            return 0;
+        }
+        replayLock.lock();
+        try {
+            return replayUnderLock(max);
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    private int replayUnderLock(int max) {
+        Map<String, Object> consumerProperties = new HashMap<>(kafkaProperties.buildConsumerProperties(null));
+        consumerProperties.put(ConsumerConfig.GROUP_ID_CONFIG, REPLAY_GROUP);
+        consumerProperties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.min(max, 500));
+        Map<String, Object> producerProperties = kafkaProperties.buildProducerProperties(null);
+
+        int replayed = 0;
+        try (KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(consumerProperties,
+                     new ByteArrayDeserializer(), new ByteArrayDeserializer());
+             KafkaProducer<byte[], byte[]> producer = new KafkaProducer<>(producerProperties,
+                     new ByteArraySerializer(), new ByteArraySerializer())) {
+            // assigned rather than subscribed: joining an empty group would wait out the broker's
+            // initial rebalance delay, and the first polls would come back empty
+            List<TopicPartition> partitions = consumer.partitionsFor(GameEventConsumer.DEAD_LETTER_TOPIC).stream()
+                    .map(partition -> new TopicPartition(partition.topic(), partition.partition()))
+                    .toList();
+            consumer.assign(partitions);
+            Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(new HashSet<>(partitions));
+            List<TopicPartition> uncommitted = new ArrayList<>();
+            for (TopicPartition partition : partitions) {
+                OffsetAndMetadata offset = committed.get(partition);
+                if (offset == null) {
+                    uncommitted.add(partition);
+                } else {
+                    consumer.seek(partition, offset.offset());
+                }
+            }
+            if (!uncommitted.isEmpty()) {
+                // an empty collection would rewind every assigned partition
+                consumer.seekToBeginning(uncommitted);
+            }
+            // records dead-lettered after this point are left for the next replay
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+            while (replayed < max && !reachedEnd(consumer, endOffsets)) {
+                var records = consumer.poll(Duration.ofSeconds(1));
+                List<Future<?>> sends = new ArrayList<>(records.count());
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                for (ConsumerRecord<byte[], byte[]> record : records) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (replayed == max || record.offset() >= endOffsets.get(partition)) {
+                        continue;
+                    }
+                    ProducerRecord<byte[], byte[]> replay = new ProducerRecord<>(
+                            GameEventConsumer.GAME_FINISHED_TOPIC, record.key(), record.value());
+                    for (Header header : record.headers()) {
+                        if (!isFailureHeader(header.key())) {
+                            replay.headers().add(header);
+                        }
+                    }
+                    sends.add(producer.send(replay));
+                    offsets.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                    replayed++;
+                }
+                if (offsets.isEmpty()) {
+                    continue;
+                }
+                producer.flush();
+                for (Future<?> send : sends) {
+                    send.get();
+                }
+                consumer.commitSync(offsets);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Dead-letter replay interrupted after " + replayed + " records", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Dead-letter replay failed after " + replayed + " records", e.getCause());
+        }
+        log.info("Replayed {} records from {}", replayed, GameEventConsumer.DEAD_LETTER_TOPIC);
+        return replayed;
+    }
+
+    private static boolean reachedEnd(KafkaConsumer<?, ?> consumer, Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> end : endOffsets.entrySet()) {
+            if (consumer.position(end.getKey()) < end.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isFailureHeader(String key) {
+        return key.startsWith(KafkaHeaders.PREFIX + "dlt-")
+                || key.startsWith("retry_topic-")
+                || key.equals(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER)
+                || key.equals(SerializationUtils.KEY_DESERIALIZER_EXCEPTION_HEADER);
+    }
+}
@@ -0,0 +1,282 @@
+package abs.wordle.userservice.services;
+
+import abs.wordle.events.UserEvent;
+import abs.wordle.events.UserEventType;
+import abs.wordle.userservice.dto.FriendLeaderboard;
+import abs.wordle.userservice.dto.LeaderboardEntry;
+import abs.wordle.userservice.dto.RankedPlayer;
+import abs.wordle.userservice.dto.StandingsChangedEvent;
+import abs.wordle.userservice.exceptions.InvalidFollowException;
+import abs.wordle.userservice.models.User;
+import abs.wordle.userservice.repository.FollowRepository;
+import abs.wordle.userservice.repository.UserRepository;
+import abs.wordle.userservice.utils.FollowGraph;
+import abs.wordle.userservice.utils.FriendBoard;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Wins leaderboards among the players a user follows. The follow graph is held in memory as
+ * sorted {@code long[]} adjacency lists and the best {@code wordle.friends.board-size} friends of
+ * recently active users are cached as ready-made boards. Committed stat updates arrive per consumer
+ * batch as a {@link StandingsChangedEvent} and are pushed into the cached boards of the changed
+ * players' followers, so a read neither touches the database nor sorts the friend list.
+ */
+@Slf4j
+@Service
+public class FriendLeaderboardService {
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final LeaderboardService leaderboardService;
+    private final int boardSize;
+    private final Cache<Long, FriendBoard> boards;
+    // guards the swap of the graph against follows made while a rebuild was reading the table
+    private final ReentrantLock edgesLock = new ReentrantLock();
+    // one rebuild at a time
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile FollowGraph graph = new FollowGraph();
+    // guarded by edgesLock; edge changes made while a rebuild was reading the table, null otherwise
+    private List<Consumer<FollowGraph>> changedDuringRebuild;
+    private volatile boolean ready;
+
+    public FriendLeaderboardService(FollowRepository followRepository,
+                                    UserRepository userRepository,
+                                    LeaderboardService leaderboardService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${wordle.friends.board-size:50}") int boardSize,
+                                    @Value("${wordle.friends.maximum-cached-boards:100000}") long maximumCachedBoards,
+                                    @Value("${wordle.friends.board-ttl:PT30M}") Duration boardTtl) {
+        this.followRepository = followRepository;
+        this.userRepository = userRepository;
+        this.leaderboardService = leaderboardService;
+        this.boardSize = boardSize;
+        this.boards = Caffeine.newBuilder()
+                .maximumSize(maximumCachedBoards)
+                .expireAfterAccess(boardTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, boards, "friend-boards");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Could not load the follow graph, friends are read from the database until the next resync", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${wordle.friends.resync-interval-ms:300000}",
+            fixedDelayString = "${wordle.friends.resync-interval-ms:300000}")
+    public void resync() {
+        rebuild();
+    }
+
+    /** Reloads every edge into a fresh graph, replays the follows made meanwhile and swaps it in. */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuildUnderLock();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildUnderLock() {
+        withEdgesLock(() -> changedDuringRebuild = new ArrayList<>());
+        FollowGraph.Builder builder = new FollowGraph.Builder();
+        int loaded;
+        try {
+            loaded = followRepository.forEachEdge(builder::add);
+        } catch (RuntimeException e) {
+            withEdgesLock(() -> changedDuringRebuild = null);
+            throw e;
+        }
+        FollowGraph fresh = builder.build();
+        withEdgesLock(() -> {
+            changedDuringRebuild.forEach(change -> change.accept(fresh));
+            changedDuringRebuild = null;
+            graph = fresh;
+        });
+        ready = true;
+        // edges made on other instances may have changed anyone's friends
+        boards.invalidateAll();
+        log.debug("Loaded {} follow edges", loaded);
+    }
+
+    public void follow(String username, String followeeUsername) {
+        long followerId = userId(username);
+        long followeeId = userId(followeeUsername);
+        if (followerId == followeeId) {
+            throw new InvalidFollowException("You cannot follow yourself");
+        }
+        followRepository.follow(followerId, followeeId);
+        changeEdges(edges -> edges.follow(followerId, followeeId));
+        boards.invalidate(followerId);
+    }
+
+    public void unfollow(String username, String followeeUsername) {
+        long followerId = userId(username);
+        long followeeId = userId(followeeUsername);
+        followRepository.unfollow(followerId, followeeId);
+        changeEdges(edges -> edges.unfollow(followerId, followeeId));
+        boards.invalidate(followerId);
+    }
+
+    /** Usernames of the players the user follows, alphabetically. */
+    public List<String> following(String username) {
+        return leaderboardService.entries(followeesOf(userId(username))).stream()
+                .map(LeaderboardEntry::username)
+                .sorted(Comparator.nullsLast(Comparator.naturalOrder()))
+                .toList();
+    }
+
+    public FriendLeaderboard leaderboard(String username, int limit) {
+        long userId = userId(username);
+        long[] followees = followeesOf(userId);
+        // nothing is cached until both the graph and the wins leaderboard are in memory
+        FriendBoard board = ready && leaderboardService.isReady()
+                ? boards.get(userId, this::buildBoard)
+                : buildBoard(userId, followees);
+
+        List<LeaderboardEntry> entries = board.entries();
+        List<RankedPlayer> top = new ArrayList<>(Math.min(limit, entries.size()));
+        long rank = 0;
+        for (int i = 0; i < entries.size() && i < limit; i++) {
+            LeaderboardEntry entry = entries.get(i);
+            if (i == 0 || entry.wins() != entries.get(i - 1).wins()) {
+                rank = i + 1;
+            }
+            top.add(new RankedPlayer(rank, entry.username(), entry.wins()));
+        }
+        return new FriendLeaderboard(top, standingOf(userId, username, board, followees), followees.length);
+    }
+
+    // a board is a prefix of the friends in rank order, so ranks on it are exact; players below
+    // the cut are ranked by counting the friends ahead of them
+    private RankedPlayer standingOf(long userId, String username, FriendBoard board, long[] followees) {
+        List<LeaderboardEntry> entries = board.entries();
+        int index = board.indexOf(userId);
+        if (index >= 0) {
+            int wins = entries.get(index).wins();
+            int ahead = 0;
+            while (ahead < index && entries.get(ahead).wins() > wins) {
+                ahead++;
+            }
+            return new RankedPlayer(ahead + 1, username, wins);
+        }
+        List<LeaderboardEntry> mine = leaderboardService.entries(new long[]{userId});
+        int wins = mine.isEmpty() ? 0 : mine.getFirst().wins();
+        long ahead = leaderboardService.entries(followees).stream().filter(entry -> entry.wins() > wins).count();
+        return new RankedPlayer(ahead + 1, username, wins);
+    }
+
+    /**
+     * Applies a batch of changed standings to the cached boards. Each change goes to its player's
+     * followers; when the batch reaches more followers than there are cached boards, the cached
+     * boards are walked once instead, with a binary search per change for "does this owner follow".
+     */
+    @EventListener
+    public void onStandingsChanged(StandingsChangedEvent event) {
+        if (!ready || event.standings().isEmpty()) {
+            return;
+        }
+        FollowGraph edges = graph;
+        ConcurrentMap<Long, FriendBoard> cached = boards.asMap();
+        long fanOut = 0;
+        for (LeaderboardEntry changed : event.standings()) {
+            fanOut += edges.followers(changed.userId()).length;
+        }
+        if (fanOut <= cached.size()) {
+            for (LeaderboardEntry changed : event.standings()) {
+                update(cached, changed.userId(), changed);
+                for (long follower : edges.followers(changed.userId())) {
+                    update(cached, follower, changed);
+                }
+            }
+            return;
+        }
+        for (Long owner : cached.keySet()) {
+            for (LeaderboardEntry changed : event.standings()) {
+                if (owner == changed.userId() || edges.isFollowing(owner, changed.userId())) {
+                    update(cached, owner, changed);
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        if (event.getType() != UserEventType.DELETED) {
+            return;
+        }
+        long userId = event.getUserId();
+        followRepository.deleteAllOf(userId);
+        long[] followers = graph.followers(userId);
+        changeEdges(edges -> edges.removeUser(userId));
+        boards.invalidate(userId);
+        boards.invalidateAll(Arrays.stream(followers).boxed().toList());
+    }
+
+    private void update(ConcurrentMap<Long, FriendBoard> cached, long owner, LeaderboardEntry changed) {
+        cached.computeIfPresent(owner, (ignored, board) -> board.with(changed, boardSize));
+    }
+
+    private void changeEdges(Consumer<FollowGraph> change) {
+        withEdgesLock(() -> {
+            change.accept(graph);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(change);
+            }
+        });
+    }
+
+    private void withEdgesLock(Runnable action) {
+        edgesLock.lock();
+        try {
+            action.run();
+        } finally {
+            edgesLock.unlock();
+        }
+    }
+
+    private FriendBoard buildBoard(long userId) {
+        return buildBoard(userId, followeesOf(userId));
+    }
+
+    private FriendBoard buildBoard(long userId, long[] followees) {
+        long[] players = Arrays.copyOf(followees, followees.length + 1);
+        players[followees.length] = userId;
+        return FriendBoard.of(leaderboardService.entries(players), boardSize);
+    }
+
+    private long[] followeesOf(long userId) {
+        return ready ? graph.following(userId) : followRepository.findFollowees(userId);
+    }
+
+    private long userId(String username) {
+        return leaderboardService.find(username)
+                .map(LeaderboardEntry::userId)
+                .or(() -> userRepository.findByUsername(username).map(User::getId))
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
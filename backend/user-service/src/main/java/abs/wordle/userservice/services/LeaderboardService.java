@@ -0,0 +1,264 @@
+package abs.wordle.userservice.services;
+
+import abs.wordle.events.UserEvent;
+import abs.wordle.events.UserEventType;
+import abs.wordle.userservice.dto.LeaderboardEntry;
+import abs.wordle.userservice.dto.LeaderboardStanding;
+import abs.wordle.userservice.dto.RankedPlayer;
+import abs.wordle.userservice.dto.StandingsChangedEvent;
+import abs.wordle.userservice.repository.LeaderboardRepository;
+import abs.wordle.userservice.utils.OrderStatisticLeaderboard;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory wins leaderboard that answers rank, percentile and top-N without querying
+ * PostgreSQL. It is loaded from the users table once the application is ready, then kept current
+ * from committed stat updates and user events. Other instances' updates are picked up by a
+ * periodic resync; until the first load completes, callers fall back to the database.
+ */
+@Slf4j
+@Service
+public class LeaderboardService {
+    private final LeaderboardRepository leaderboardRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // one rebuild at a time
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // guarded by lock
+    private OrderStatisticLeaderboard leaderboard = new OrderStatisticLeaderboard();
+    // guarded by lock; users changed while a rebuild was reading the table, null otherwise
+    private Set<Long> changedDuringRebuild;
+    private volatile boolean ready;
+
+    public LeaderboardService(LeaderboardRepository leaderboardRepository,
+                              ApplicationEventPublisher applicationEventPublisher,
+                              MeterRegistry meterRegistry) {
+        this.leaderboardRepository = leaderboardRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        Gauge.builder("wordle.leaderboard.players", this, LeaderboardService::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Could not load the leaderboard, ranks come from the database until the next resync", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${wordle.leaderboard.resync-interval-ms:300000}",
+            fixedDelayString = "${wordle.leaderboard.resync-interval-ms:300000}")
+    public void resync() {
+        rebuild();
+    }
+
+    /**
+     * Reloads the whole table into a fresh structure and swaps it in. Users updated while the
+     * table was being read are re-read afterwards, so the swap cannot roll them back.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuildUnderLock();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildUnderLock() {
+        withWriteLock(() -> changedDuringRebuild = new HashSet<>());
+        OrderStatisticLeaderboard fresh = new OrderStatisticLeaderboard();
+        try {
+            int loaded = leaderboardRepository.forEachStanding(fresh::put);
+            log.debug("Loaded {} players into the leaderboard", loaded);
+        } catch (RuntimeException e) {
+            withWriteLock(() -> changedDuringRebuild = null);
+            throw e;
+        }
+        Set<Long> changed = new HashSet<>();
+        withWriteLock(() -> {
+            changed.addAll(changedDuringRebuild);
+            changedDuringRebuild = null;
+            leaderboard = fresh;
+        });
+        ready = true;
+        if (!changed.isEmpty()) {
+            refresh(changed);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Empty when the user is not on the in-memory leaderboard yet. */
+    public Optional<LeaderboardStanding> standing(String username) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            LeaderboardEntry entry = leaderboard.find(username);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            long players = leaderboard.size();
+            double percentile = 100.0 * leaderboard.countWithFewerWins(entry.wins()) / players;
+            return Optional.of(new LeaderboardStanding(leaderboard.rank(entry.wins()), players, percentile));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** The ranked window around the user; empty when the user is not on the leaderboard yet. */
+    public Optional<List<RankedPlayer>> around(String username, int size) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            LeaderboardEntry entry = leaderboard.find(username);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            return Optional.of(leaderboard.around(entry, size).stream()
+                    .map(player -> new RankedPlayer(leaderboard.rank(player.wins()), player.username(), player.wins()))
+                    .toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<LeaderboardEntry> find(String username) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(leaderboard.find(username));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Standings of the given users under a single read lock; unknown users are left out. */
+    public List<LeaderboardEntry> entries(long[] userIds) {
+        if (!ready) {
+            return List.copyOf(leaderboardRepository.findStandings(Arrays.stream(userIds).boxed().toList()).values());
+        }
+        List<LeaderboardEntry> entries = new ArrayList<>(userIds.length);
+        lock.readLock().lock();
+        try {
+            for (long userId : userIds) {
+                LeaderboardEntry entry = leaderboard.get(userId);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return entries;
+    }
+
+    public List<LeaderboardEntry> top(int limit) {
+        lock.readLock().lock();
+        try {
+            return leaderboard.top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return leaderboard.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Re-reads the users once the current transaction commits, or right away outside one. */
+    public void refreshAfterCommit(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(userIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh(userIds);
+            }
+        });
+    }
+
+    // absolute values rather than increments, so a refresh can be repeated or reordered safely
+    public void refresh(Collection<Long> userIds) {
+        Map<Long, LeaderboardEntry> standings = leaderboardRepository.findStandings(userIds);
+        withWriteLock(() -> {
+            for (Long userId : userIds) {
+                LeaderboardEntry entry = standings.get(userId);
+                if (entry == null) {
+                    leaderboard.remove(userId);
+                } else {
+                    leaderboard.put(entry);
+                }
+            }
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.addAll(userIds);
+            }
+        });
+        if (!standings.isEmpty()) {
+            applicationEventPublisher.publishEvent(new StandingsChangedEvent(standings.values()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        withWriteLock(() -> {
+            if (event.getType() == UserEventType.DELETED) {
+                leaderboard.remove(event.getUserId());
+            } else {
+                leaderboard.put(new LeaderboardEntry(event.getUserId(), event.getUsername(), 0));
+            }
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event.getUserId());
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package abs.wordle.userservice.services;
+
+import abs.wordle.userservice.consumers.GameEventConsumer;
+import abs.wordle.userservice.consumers.GameResultRecoveryConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes {@code wordle.stats.retry.depth{topic}}: records waiting in each retry tier and in the
+ * dead-letter topic, i.e. end offset minus the offset committed by the group that drains it.
+ */
+@Slf4j
+@Component
+public class RetryTopicDepthMonitor implements DisposableBean {
+    private final AdminClient adminClient;
+    private final MultiGauge depth;
+
+    public RetryTopicDepthMonitor(KafkaAdmin kafkaAdmin, MeterRegistry meterRegistry) {
+        this.adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        this.depth = MultiGauge.builder("wordle.stats.retry.depth")
+                .description("Records not yet consumed from game-finished retry and dead-letter topics")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${wordle.game-finished.retry-depth-interval-ms:15000}")
+    public void refresh() {
+        try {
+            List<String> topics = adminClient.listTopics().names().get(5, TimeUnit.SECONDS).stream()
+                    .filter(topic -> topic.startsWith(GameEventConsumer.RECOVERY_TOPIC))
+                    .toList();
+            if (topics.isEmpty()) {
+                depth.register(List.of(), true);
+                return;
+            }
+            Map<String, TopicDescription> descriptions = adminClient.describeTopics(topics)
+                    .allTopicNames().get(5, TimeUnit.SECONDS);
+            List<TopicPartition> partitions = descriptions.values().stream()
+                    .flatMap(description -> description.partitions().stream()
+                            .map(partition -> new TopicPartition(description.name(), partition.partition())))
+                    .toList();
+            Map<TopicPartition, Long> latest = offsets(partitions, OffsetSpec.latest());
+            Map<TopicPartition, Long> earliest = offsets(partitions, OffsetSpec.earliest());
+            Map<TopicPartition, Long> committed = committedOffsets();
+
+            Map<String, Long> lagByTopic = new HashMap<>();
+            for (TopicPartition partition : partitions) {
+                long position = committed.getOrDefault(partition, earliest.getOrDefault(partition, 0L));
+                lagByTopic.merge(partition.topic(), Math.max(0L, latest.getOrDefault(partition, 0L) - position), Long::sum);
+            }
+            List<MultiGauge.Row<?>> rows = new ArrayList<>(lagByTopic.size());
+            lagByTopic.forEach((topic, lag) -> rows.add(MultiGauge.Row.of(Tags.of("topic", topic), lag)));
+            depth.register(rows, true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Could not refresh retry topic depth: {}", e.getMessage());
+        }
+    }
+
+    private Map<TopicPartition, Long> offsets(List<TopicPartition> partitions, OffsetSpec spec) throws Exception {
+        Map<TopicPartition, OffsetSpec> request = partitions.stream()
+                .collect(Collectors.toMap(Function.identity(), partition -> spec));
+        return adminClient.listOffsets(request).all().get(5, TimeUnit.SECONDS).entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().offset()));
+    }
+
+    // retry tiers are drained by the recovery groups, the dead-letter topic only by replays
+    private Map<TopicPartition, Long> committedOffsets() throws Exception {
+        List<String> groups = adminClient.listConsumerGroups().all().get(5, TimeUnit.SECONDS).stream()
+                .map(ConsumerGroupListing::groupId)
+                .filter(group -> group.startsWith(GameResultRecoveryConsumer.RECOVERY_GROUP)
+                        || group.equals(DeadLetterReplayService.REPLAY_GROUP))
+                .toList();
+        Map<TopicPartition, Long> committed = new HashMap<>();
+        for (String group : groups) {
+            Map<TopicPartition, OffsetAndMetadata> offsets = adminClient.listConsumerGroupOffsets(group)
+                    .partitionsToOffsetAndMetadata().get(5, TimeUnit.SECONDS);
+            offsets.forEach((partition, offset) -> {
+                if (offset == null || !partition.topic().startsWith(GameEventConsumer.RECOVERY_TOPIC)) {
+                    return;
+                }
+                boolean deadLetter = partition.topic().equals(GameEventConsumer.DEAD_LETTER_TOPIC);
+                if (deadLetter == group.equals(DeadLetterReplayService.REPLAY_GROUP)) {
+                    committed.merge(partition, offset.offset(), Math::max);
+                }
+            });
+        }
+        return committed;
+    }
+
+    @Override
+    public void destroy() {
+        adminClient.close();
+    }
+}
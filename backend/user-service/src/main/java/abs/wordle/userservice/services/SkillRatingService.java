@@ -0,0 +1,100 @@
+package abs.wordle.userservice.services;
+
+import abs.wordle.events.GameFinishedEvent;
+import abs.wordle.events.GameResult;
+import abs.wordle.userservice.dto.SkillRating;
+import abs.wordle.userservice.dto.UserStatsDelta;
+import abs.wordle.userservice.repository.SkillRatingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Elo rating of players against answer words. Every finished game is a match between the player
+ * and the word: solving a word in few guesses scores close to a win, solving it in six scores
+ * half, failing scores nothing. Both sides move by the difference between that score and the
+ * expected one, so beating a hard word is worth more than beating an easy one, and a word that
+ * keeps beating players becomes hard.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SkillRatingService {
+    static final int PROVISIONAL_GAMES = 30;
+    static final double PROVISIONAL_K = 40;
+    static final double PLAYER_K = 20;
+    static final double WORD_K = 10;
+
+    private final SkillRatingRepository skillRatingRepository;
+
+    /**
+     * Rates a batch of results in play order with two reads and two batched writes, whatever the
+     * batch size; each game is O(1) in memory. Results of unknown users are skipped.
+     */
+    @Transactional
+    public void applyResults(Collection<GameFinishedEvent> events) {
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> wordCodes = new HashSet<>();
+        for (GameFinishedEvent event : events) {
+            if (event.getUserId() != null) {
+                userIds.add(event.getUserId());
+                if (event.getWordCode() > 0) {
+                    wordCodes.add((long) event.getWordCode());
+                }
+            }
+        }
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Map<Long, SkillRating> players = skillRatingRepository.findPlayers(userIds);
+        Map<Long, SkillRating> words = wordCodes.isEmpty() ? new HashMap<>() : skillRatingRepository.findWords(wordCodes);
+        for (GameFinishedEvent event : events) {
+            SkillRating player = event.getUserId() == null ? null : players.get(event.getUserId());
+            if (player == null) {
+                continue;
+            }
+            // results without a word are played against an average word that is not itself rated
+            SkillRating word = event.getWordCode() > 0
+                    ? words.computeIfAbsent((long) event.getWordCode(),
+                            code -> new SkillRating(code, SkillRatingRepository.INITIAL_RATING, 0))
+                    : null;
+            double wordRating = word == null ? SkillRatingRepository.INITIAL_RATING : word.getRating();
+            double surprise = score(event) - expectedScore(player.getRating(), wordRating);
+            player.adjust(kFactor(player.getGames()) * surprise);
+            if (word != null) {
+                word.adjust(-WORD_K * surprise);
+            }
+        }
+        skillRatingRepository.addDeltas(players.values(), words.values());
+        log.debug("Rated {} games of {} players against {} words", events.size(), players.size(), words.size());
+    }
+
+    /** Chance of the first side beating the second under the Elo logistic curve. */
+    public static double expectedScore(double rating, double opponentRating) {
+        return 1 / (1 + Math.pow(10, (opponentRating - rating) / 400));
+    }
+
+    /** 1.0 for a first-guess solve, 0.1 less per extra guess, 0 for a loss. */
+    public static double score(GameFinishedEvent event) {
+        if (event.getResult() != GameResult.WIN) {
+            return 0;
+        }
+        int attempts = event.getAttempts();
+        // producers that did not report attempts only tell us the word was solved
+        if (attempts < 1 || attempts > UserStatsDelta.MAX_ATTEMPTS) {
+            return 1;
+        }
+        return 1 - (attempts - 1) / 10.0;
+    }
+
+    static double kFactor(int ratedGames) {
+        return ratedGames < PROVISIONAL_GAMES ? PROVISIONAL_K : PLAYER_K;
+    }
+}
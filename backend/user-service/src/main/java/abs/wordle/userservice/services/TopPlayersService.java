@@ -0,0 +1,161 @@
+package abs.wordle.userservice.services;
+
+import abs.wordle.events.UserEvent;
+import abs.wordle.events.UserEventType;
+import abs.wordle.userservice.dto.LeaderboardEntry;
+import abs.wordle.userservice.dto.StandingsChangedEvent;
+import abs.wordle.userservice.models.User;
+import abs.wordle.userservice.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * The public top-players list as an immutable snapshot with its JSON already serialized and a
+ * strong ETag derived from those bytes. A snapshot is only rebuilt when a committed update could
+ * change it: a player already on it moved, someone reached its lowest win count, or a player on
+ * it was deleted. The first request after that rebuilds it while concurrent requests keep getting
+ * the previous one; if the database fails, the last good snapshot keeps being served.
+ */
+@Slf4j
+@Service
+public class TopPlayersService {
+    public static final int TOP_SIZE = 20;
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final long maxAgeNanos;
+    private final long retryAfterFailureNanos;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile long nextAttemptNanos;
+
+    public TopPlayersService(UserRepository userRepository,
+                             ObjectMapper objectMapper,
+                             @Value("${wordle.top-players.max-age:PT1M}") Duration maxAge,
+                             @Value("${wordle.top-players.retry-after-failure:PT5S}") Duration retryAfterFailure) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.retryAfterFailureNanos = retryAfterFailure.toNanos();
+    }
+
+    public record Snapshot(byte[] json, String etag, Set<Long> userIds, int lowestWins, long builtAtNanos) {
+        boolean couldChange(LeaderboardEntry standing) {
+            return userIds.contains(standing.userId()) || standing.wins() >= lowestWins;
+        }
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot.get();
+        boolean expired = current != null && System.nanoTime() - current.builtAtNanos() > maxAgeNanos;
+        if ((current == null || stale.get() || expired) && rebuilding.compareAndSet(false, true)) {
+            try {
+                current = rebuild(current);
+            } finally {
+                rebuilding.set(false);
+            }
+        }
+        if (current == null) {
+            // another request is building the very first snapshot
+            current = rebuildNow();
+        }
+        return current;
+    }
+
+    @EventListener
+    public void onStandingsChanged(StandingsChangedEvent event) {
+        Snapshot current = snapshot.get();
+        if (current == null || event.standings().stream().anyMatch(current::couldChange)) {
+            stale.set(true);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        Snapshot current = snapshot.get();
+        // a new player has no wins, which only matters while the list is not full
+        if (current == null
+                || (event.getType() == UserEventType.DELETED && current.userIds().contains(event.getUserId()))
+                || (event.getType() == UserEventType.CREATED && current.lowestWins() <= 0)) {
+            stale.set(true);
+        }
+    }
+
+    private Snapshot rebuild(Snapshot current) {
+        if (current != null && System.nanoTime() < nextAttemptNanos) {
+            return current;
+        }
+        stale.set(false);
+        try {
+            return rebuildNow();
+        } catch (RuntimeException e) {
+            if (current == null) {
+                throw e;
+            }
+            stale.set(true);
+            nextAttemptNanos = System.nanoTime() + retryAfterFailureNanos;
+            log.warn("Could not rebuild the top players, serving the snapshot from before", e);
+            return current;
+        }
+    }
+
+    private Snapshot rebuildNow() {
+        List<User> top = userRepository.findAllByOrderByWinsDesc(PageRequest.of(0, TOP_SIZE));
+        LinkedHashMap<String, Integer> body = top.stream().collect(Collectors.toMap(
+                User::getUsername,
+                User::getWins,
+                (existingValue, newValue) -> existingValue,
+                LinkedHashMap::new));
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the top players", e);
+        }
+        Snapshot current = snapshot.get();
+        if (current != null && Arrays.equals(current.json(), json)) {
+            Snapshot refreshed = new Snapshot(current.json(), current.etag(), current.userIds(), current.lowestWins(), System.nanoTime());
+            snapshot.set(refreshed);
+            return refreshed;
+        }
+        // with fewer players than the list holds, any player could still join it
+        int lowestWins = top.size() < TOP_SIZE ? Integer.MIN_VALUE : valueOrZero(top.get(top.size() - 1).getWins());
+        Snapshot built = new Snapshot(json, etag(json),
+                top.stream().map(User::getId).collect(Collectors.toUnmodifiableSet()),
+                lowestWins, System.nanoTime());
+        snapshot.set(built);
+        return built;
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int valueOrZero(Integer value) {
+        return value == null ? 0 : value;
+    }
+}
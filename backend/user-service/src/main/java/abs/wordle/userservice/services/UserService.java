@@ -1,21 +1,30 @@
 package abs.wordle.userservice.services;
 
+import abs.wordle.events.UserEvent;
+import abs.wordle.events.UserEventType;
+import abs.wordle.userservice.dto.LeaderboardStanding;
+import abs.wordle.userservice.dto.RankedPlayer;
 import abs.wordle.userservice.models.User;
 import abs.wordle.userservice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
+    private final LeaderboardService leaderboardService;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     public User create(User user) {
         return userRepository.save(user);
@@ -26,6 +35,10 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    public Optional<User> findById(Long id) {
+        return userRepository.findById(id);
+    }
+
     public List<User> getAll() {
         return userRepository.findAll();
     }
@@ -36,6 +49,10 @@ public class UserService {
 
     public void delete(Long id) {
         userRepository.deleteById(id);
+        applicationEventPublisher.publishEvent(UserEvent.newBuilder()
+                .setUserId(id)
+                .setType(UserEventType.DELETED)
+                .build());
     }
 
     public User getAuthenticated(UserDetails userDetails) {
@@ -43,20 +60,80 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("Something went wrong"));
     }
 
-    public LinkedHashMap<String, Integer> getTop20Users() {
-        return userRepository.findAllByOrderByWinsDesc(PageRequest.of(0, 20))
+    public Long getUserRank(String username) {
+        return getUserStanding(username).rank();
+    }
+
+    // users the in-memory leaderboard does not know yet are ranked by the database
+    public LeaderboardStanding getUserStanding(String username) {
+        return leaderboardService.standing(username).orElseGet(() -> {
+            Long rank = userRepository.findUserRankByUsername(username).orElseThrow(
+                    () -> new RuntimeException("User not found")
+            );
+            return new LeaderboardStanding(rank, userRepository.count(), null);
+        });
+    }
+
+    /**
+     * The user with up to {@code size} players above and below, best first. Users the in-memory
+     * leaderboard does not know yet are served by index seeks. The window is contiguous in
+     * (wins desc, id) order, so one count ranks its top row and the other ranks follow from it.
+     */
+    public List<RankedPlayer> getPlayersAround(String username, int size) {
+        return leaderboardService.around(username, size).orElseGet(() -> {
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            List<User> above = userRepository.findPlayersAbove(winsOf(user), user.getId(), size);
+            List<User> window = new ArrayList<>(above);
+            Collections.reverse(window);
+            window.add(user);
+            window.addAll(userRepository.findPlayersBelow(winsOf(user), user.getId(), size));
+            return rankWindow(window, above.size() < size);
+        });
+    }
+
+    // a row's rank is the rank of the tie group before it plus that group's size; the top group is
+    // the exception, since players tied with the top row may sit above the window and shift the
+    // next group down, so its successor is counted as well unless the window starts at the first player
+    private List<RankedPlayer> rankWindow(List<User> window, boolean startsAtFirstPlayer) {
+        List<RankedPlayer> ranked = new ArrayList<>(window.size());
+        long rank = startsAtFirstPlayer ? 1 : userRepository.countByWinsGreaterThan(winsOf(window.get(0))) + 1;
+        int groupStart = 0;
+        for (int i = 0; i < window.size(); i++) {
+            int wins = winsOf(window.get(i));
+            if (i > 0 && wins != ranked.get(i - 1).wins()) {
+                rank = groupStart == 0 && !startsAtFirstPlayer
+                        ? userRepository.countByWinsGreaterThan(wins) + 1
+                        : rank + (i - groupStart);
+                groupStart = i;
+            }
+            ranked.add(new RankedPlayer(rank, window.get(i).getUsername(), wins));
+        }
+        return ranked;
+    }
+
+    private static int winsOf(User user) {
+        return user.getWins() == null ? 0 : user.getWins();
+    }
+
+    public LinkedHashMap<String, Long> getTop20UsersByRating() {
+        return userRepository.findAllByRatingNotNullOrderByRatingDesc(PageRequest.of(0, 20))
                 .stream().collect(
                         Collectors.toMap(
                                 User::getUsername,
-                                User::getWins,
+                                user -> Math.round(user.getRating()),
                                 (existingValue, newValue) -> existingValue,
                                 LinkedHashMap::new
                         ));
     }
 
-    public Long getUserRank(String username) {
-        return userRepository.findUserRankByUsername(username).orElseThrow(
-                () -> new RuntimeException("User not found")
-        );
+    /** Position on the rating leaderboard, or null while the user has no rated game. */
+    public Long getUserRatingRank(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (user.getRating() == null) {
+            return null;
+        }
+        return userRepository.findUserRatingRankByUsername(username).orElse(null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,138 @@
+package abs.wordle.userservice.services;
+
+import abs.wordle.events.GameFinishedEvent;
+import abs.wordle.events.GameResult;
+import abs.wordle.userservice.dto.DailyWins;
+import abs.wordle.userservice.dto.RankedPlayer;
+import abs.wordle.userservice.enums.LeaderboardWindow;
+import abs.wordle.userservice.models.User;
+import abs.wordle.userservice.repository.UserRepository;
+import abs.wordle.userservice.repository.WindowedLeaderboardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily, weekly and seasonal wins leaderboards. Results are counted into per-user day buckets
+ * and per-season counters as they arrive, so a window is the sum of at most a week of buckets,
+ * or a single counter per user for the season, and never a scan of game history. Seasons are
+ * consecutive runs of {@code wordle.seasons.length-days} UTC days counted from 1970-01-01; once
+ * one has ended (plus a grace period for late results) it is archived in bulk.
+ */
+@Slf4j
+@Service
+public class WindowedLeaderboardService {
+    private final WindowedLeaderboardRepository windowedLeaderboardRepository;
+    private final UserRepository userRepository;
+    private final int seasonLengthDays;
+    private final Duration archiveGrace;
+
+    public WindowedLeaderboardService(WindowedLeaderboardRepository windowedLeaderboardRepository,
+                                      UserRepository userRepository,
+                                      @Value("${wordle.seasons.length-days:28}") int seasonLengthDays,
+                                      @Value("${wordle.seasons.archive-grace:PT1H}") Duration archiveGrace) {
+        this.windowedLeaderboardRepository = windowedLeaderboardRepository;
+        this.userRepository = userRepository;
+        this.seasonLengthDays = seasonLengthDays;
+        this.archiveGrace = archiveGrace;
+    }
+
+    /** Counts the wins of a batch into their day buckets and seasons with one batched upsert each. */
+    @Transactional
+    public void applyResults(Collection<GameFinishedEvent> events) {
+        Map<Long, Map<LocalDate, Integer>> winsByUserAndDay = new HashMap<>();
+        LocalDate today = today();
+        for (GameFinishedEvent event : events) {
+            if (event.getUserId() == null || event.getResult() != GameResult.WIN) {
+                continue;
+            }
+            LocalDate day = event.getFinishedAt() == null
+                    ? today
+                    : Instant.ofEpochMilli(event.getFinishedAt()).atZone(ZoneOffset.UTC).toLocalDate();
+            winsByUserAndDay.computeIfAbsent(event.getUserId(), userId -> new HashMap<>()).merge(day, 1, Integer::sum);
+        }
+        if (winsByUserAndDay.isEmpty()) {
+            return;
+        }
+        // seasons older than this may already be archived, so late results no longer count for them
+        int oldestOpenSeason = seasonOf(Instant.now().minus(archiveGrace).atZone(ZoneOffset.UTC).toLocalDate());
+        List<DailyWins> daily = new ArrayList<>();
+        List<DailyWins> seasonal = new ArrayList<>();
+        winsByUserAndDay.forEach((userId, days) -> days.forEach((day, wins) -> {
+            DailyWins entry = new DailyWins(userId, day, seasonOf(day), wins);
+            daily.add(entry);
+            if (entry.season() >= oldestOpenSeason) {
+                seasonal.add(entry);
+            }
+        }));
+        windowedLeaderboardRepository.addWins(daily, seasonal);
+    }
+
+    public List<RankedPlayer> top(LeaderboardWindow window, int limit) {
+        if (window == LeaderboardWindow.SEASON) {
+            return windowedLeaderboardRepository.findTopInSeason(currentSeason(), limit);
+        }
+        return windowedLeaderboardRepository.findTopSince(windowStart(window), limit);
+    }
+
+    public RankedPlayer standing(LeaderboardWindow window, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (window == LeaderboardWindow.SEASON) {
+            int season = currentSeason();
+            int wins = windowedLeaderboardRepository.findWinsInSeason(user.getId(), season);
+            return new RankedPlayer(windowedLeaderboardRepository.findRankInSeason(season, wins), username, wins);
+        }
+        LocalDate from = windowStart(window);
+        int wins = windowedLeaderboardRepository.findWinsSince(user.getId(), from);
+        return new RankedPlayer(windowedLeaderboardRepository.findRankSince(from, wins), username, wins);
+    }
+
+    public List<RankedPlayer> archivedTop(int season, int limit) {
+        return windowedLeaderboardRepository.findArchivedTop(season, limit);
+    }
+
+    public int currentSeason() {
+        return seasonOf(today());
+    }
+
+    @Scheduled(cron = "${wordle.seasons.archive-cron:0 */15 * * * *}", zone = "UTC")
+    public void archiveFinishedSeasons() {
+        int oldestOpenSeason = seasonOf(Instant.now().minus(archiveGrace).atZone(ZoneOffset.UTC).toLocalDate());
+        for (int season : windowedLeaderboardRepository.findSeasonsBefore(oldestOpenSeason)) {
+            int archived = windowedLeaderboardRepository.archiveSeason(season);
+            log.info("Archived season {} with {} players", season, archived);
+        }
+    }
+
+    int seasonOf(LocalDate day) {
+        return (int) Math.floorDiv(day.toEpochDay(), seasonLengthDays);
+    }
+
+    private LocalDate windowStart(LeaderboardWindow window) {
+        LocalDate today = today();
+        return switch (window) {
+            case DAY -> today;
+            case WEEK -> today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case SEASON -> LocalDate.ofEpochDay((long) currentSeason() * seasonLengthDays);
+        };
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+}
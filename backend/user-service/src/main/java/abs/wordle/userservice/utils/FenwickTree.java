@@ -0,0 +1,64 @@
+package abs.wordle.userservice.utils;
+
+/**
+ * Binary indexed tree of counts over the non-negative integers: adds to one index and sums a
+ * prefix in O(log n). The tree doubles when an index past its end is added to. A power-of-two
+ * tree keeps its grand total in the last node, so growing copies the nodes and seeds every new
+ * power-of-two node, each of which covers the whole old range, with that total.
+ */
+public final class FenwickTree {
+    // 1-based; node i covers the indices (i - lowbit(i), i]
+    private long[] tree;
+
+    public FenwickTree(int capacity) {
+        this.tree = new long[sizeFor(capacity) + 1];
+    }
+
+    public void add(int index, long delta) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Negative index " + index);
+        }
+        ensureCapacity(index + 1);
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /** Sum of the counts at indices {@code 0..index}, inclusive. */
+    public long prefixSum(int index) {
+        if (index < 0) {
+            return 0;
+        }
+        long sum = 0;
+        for (int i = Math.min(index + 1, tree.length - 1); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    public long total() {
+        return tree[tree.length - 1];
+    }
+
+    public int capacity() {
+        return tree.length - 1;
+    }
+
+    private void ensureCapacity(int size) {
+        int capacity = capacity();
+        if (size <= capacity) {
+            return;
+        }
+        int newCapacity = sizeFor(size);
+        long[] grown = new long[newCapacity + 1];
+        System.arraycopy(tree, 0, grown, 0, tree.length);
+        for (int node = capacity << 1; node <= newCapacity; node <<= 1) {
+            grown[node] = tree[capacity];
+        }
+        tree = grown;
+    }
+
+    private static int sizeFor(int capacity) {
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
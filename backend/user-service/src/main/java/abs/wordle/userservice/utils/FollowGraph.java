@@ -0,0 +1,152 @@
+package abs.wordle.userservice.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Follow edges as sorted primitive {@code long[]} adjacency lists in both directions, about
+ * eight bytes per edge and direction. Lists are copy-on-write, so readers never lock and never see
+ * a half-updated list; a membership test is a binary search. Returned arrays must not be modified.
+ */
+public final class FollowGraph {
+    private static final long[] NONE = new long[0];
+
+    private final ConcurrentHashMap<Long, long[]> following;
+    private final ConcurrentHashMap<Long, long[]> followers;
+
+    public FollowGraph() {
+        this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    private FollowGraph(ConcurrentHashMap<Long, long[]> following, ConcurrentHashMap<Long, long[]> followers) {
+        this.following = following;
+        this.followers = followers;
+    }
+
+    /** Returns false if the edge already existed. */
+    public boolean follow(long follower, long followee) {
+        boolean added = insert(following, follower, followee);
+        if (added) {
+            insert(followers, followee, follower);
+        }
+        return added;
+    }
+
+    /** Returns false if there was no such edge. */
+    public boolean unfollow(long follower, long followee) {
+        boolean removed = delete(following, follower, followee);
+        if (removed) {
+            delete(followers, followee, follower);
+        }
+        return removed;
+    }
+
+    public void removeUser(long userId) {
+        for (long followee : following(userId)) {
+            delete(followers, followee, userId);
+        }
+        for (long follower : followers(userId)) {
+            delete(following, follower, userId);
+        }
+        following.remove(userId);
+        followers.remove(userId);
+    }
+
+    public long[] following(long userId) {
+        return following.getOrDefault(userId, NONE);
+    }
+
+    public long[] followers(long userId) {
+        return followers.getOrDefault(userId, NONE);
+    }
+
+    public boolean isFollowing(long follower, long followee) {
+        return Arrays.binarySearch(following(follower), followee) >= 0;
+    }
+
+    private static boolean insert(ConcurrentHashMap<Long, long[]> lists, long key, long value) {
+        boolean[] added = new boolean[1];
+        lists.compute(key, (ignored, list) -> {
+            long[] current = list == null ? NONE : list;
+            int index = Arrays.binarySearch(current, value);
+            if (index >= 0) {
+                return list;
+            }
+            index = -index - 1;
+            long[] grown = new long[current.length + 1];
+            System.arraycopy(current, 0, grown, 0, index);
+            grown[index] = value;
+            System.arraycopy(current, index, grown, index + 1, current.length - index);
+            added[0] = true;
+            return grown;
+        });
+        return added[0];
+    }
+
+    private static boolean delete(ConcurrentHashMap<Long, long[]> lists, long key, long value) {
+        boolean[] removed = new boolean[1];
+        lists.computeIfPresent(key, (ignored, list) -> {
+            int index = Arrays.binarySearch(list, value);
+            if (index < 0) {
+                return list;
+            }
+            removed[0] = true;
+            if (list.length == 1) {
+                return null;
+            }
+            long[] shrunk = new long[list.length - 1];
+            System.arraycopy(list, 0, shrunk, 0, index);
+            System.arraycopy(list, index + 1, shrunk, index, list.length - index - 1);
+            return shrunk;
+        });
+        return removed[0];
+    }
+
+    /** Collects edges in bulk, growing plain arrays instead of copying a list per edge. */
+    public static final class Builder {
+        private final Map<Long, GrowableList> following = new HashMap<>();
+        private final Map<Long, GrowableList> followers = new HashMap<>();
+
+        public void add(long follower, long followee) {
+            following.computeIfAbsent(follower, ignored -> new GrowableList()).add(followee);
+            followers.computeIfAbsent(followee, ignored -> new GrowableList()).add(follower);
+        }
+
+        public FollowGraph build() {
+            return new FollowGraph(freeze(following), freeze(followers));
+        }
+
+        private static ConcurrentHashMap<Long, long[]> freeze(Map<Long, GrowableList> lists) {
+            ConcurrentHashMap<Long, long[]> frozen = new ConcurrentHashMap<>(Math.max(16, lists.size() * 4 / 3 + 1));
+            lists.forEach((key, list) -> frozen.put(key, list.toSortedArray()));
+            return frozen;
+        }
+    }
+
+    private static final class GrowableList {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toSortedArray() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            // the table's primary key rules out duplicates, but a resync may replay an edge
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+        }
+    }
+}
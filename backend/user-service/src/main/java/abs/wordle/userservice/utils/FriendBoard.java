@@ -0,0 +1,74 @@
+package abs.wordle.userservice.utils;
+
+import abs.wordle.userservice.dto.LeaderboardEntry;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The best players among a user's friends, in {@link OrderStatisticLeaderboard#BY_WINS_DESC}
+ * order. Immutable: {@link #with} returns an updated copy. A board that was cut off at its capacity
+ * cannot see the friends below the cut, so when a listed player drops to the last place it can no
+ * longer tell who belongs there and {@link #with} returns null to have it rebuilt.
+ */
+public final class FriendBoard {
+    private final LeaderboardEntry[] entries;
+    // every friend is on the board, not only the best
+    private final boolean complete;
+
+    private FriendBoard(LeaderboardEntry[] entries, boolean complete) {
+        this.entries = entries;
+        this.complete = complete;
+    }
+
+    public static FriendBoard of(Collection<LeaderboardEntry> friends, int capacity) {
+        LeaderboardEntry[] sorted = friends.toArray(LeaderboardEntry[]::new);
+        Arrays.sort(sorted, OrderStatisticLeaderboard.BY_WINS_DESC);
+        return sorted.length <= capacity
+                ? new FriendBoard(sorted, true)
+                : new FriendBoard(Arrays.copyOf(sorted, capacity), false);
+    }
+
+    /** The board after a friend's standing changed; null when it has to be rebuilt. */
+    public FriendBoard with(LeaderboardEntry changed, int capacity) {
+        int index = indexOf(changed.userId());
+        if (index < 0) {
+            if (!complete && OrderStatisticLeaderboard.BY_WINS_DESC.compare(changed, entries[entries.length - 1]) > 0) {
+                return this;
+            }
+            LeaderboardEntry[] grown = Arrays.copyOf(entries, entries.length + 1);
+            grown[entries.length] = changed;
+            return of(Arrays.asList(grown), capacity);
+        }
+        LeaderboardEntry[] updated = entries.clone();
+        updated[index] = changed;
+        Arrays.sort(updated, OrderStatisticLeaderboard.BY_WINS_DESC);
+        if (!complete && updated[updated.length - 1] == changed && changed.wins() < entries[index].wins()) {
+            return null;
+        }
+        return new FriendBoard(updated, complete);
+    }
+
+    public List<LeaderboardEntry> entries() {
+        return List.of(entries);
+    }
+
+    public boolean complete() {
+        return complete;
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    /** The player's place on the board, -1 if not on it. */
+    public int indexOf(long userId) {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i].userId() == userId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,101 @@
+package abs.wordle.userservice.utils;
+
+import abs.wordle.userservice.dto.LeaderboardEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Players ranked by wins. A {@link FenwickTree} counts players per win total, which answers rank
+ * and percentile with one prefix sum; a sorted set of the entries serves top-N and the window
+ * around a player. Ranks follow SQL {@code RANK()}: players with equal wins share a rank, and are
+ * listed by descending id, the order of the users (wins, id) index read backwards. Not thread-safe.
+ */
+public final class OrderStatisticLeaderboard {
+    public static final Comparator<LeaderboardEntry> BY_WINS_DESC = Comparator
+            .comparingInt(LeaderboardEntry::wins).reversed()
+            .thenComparing(Comparator.comparingLong(LeaderboardEntry::userId).reversed());
+
+    private final FenwickTree playersByWins = new FenwickTree(1024);
+    private final Map<Long, LeaderboardEntry> byId = new HashMap<>();
+    private final Map<String, Long> idsByUsername = new HashMap<>();
+    private final TreeSet<LeaderboardEntry> ordered = new TreeSet<>(BY_WINS_DESC);
+
+    public void put(LeaderboardEntry entry) {
+        remove(entry.userId());
+        LeaderboardEntry clamped = entry.wins() < 0
+                ? new LeaderboardEntry(entry.userId(), entry.username(), 0)
+                : entry;
+        byId.put(clamped.userId(), clamped);
+        if (clamped.username() != null) {
+            idsByUsername.put(clamped.username(), clamped.userId());
+        }
+        ordered.add(clamped);
+        playersByWins.add(clamped.wins(), 1);
+    }
+
+    public void remove(long userId) {
+        LeaderboardEntry removed = byId.remove(userId);
+        if (removed == null) {
+            return;
+        }
+        if (removed.username() != null) {
+            idsByUsername.remove(removed.username(), userId);
+        }
+        ordered.remove(removed);
+        playersByWins.add(removed.wins(), -1);
+    }
+
+    public LeaderboardEntry get(long userId) {
+        return byId.get(userId);
+    }
+
+    public LeaderboardEntry find(String username) {
+        Long userId = idsByUsername.get(username);
+        return userId == null ? null : byId.get(userId);
+    }
+
+    /** One more than the number of players with more wins. */
+    public long rank(int wins) {
+        return 1 + playersByWins.total() - playersByWins.prefixSum(wins);
+    }
+
+    public long countWithFewerWins(int wins) {
+        return playersByWins.prefixSum(wins - 1);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public List<LeaderboardEntry> top(int limit) {
+        List<LeaderboardEntry> top = new ArrayList<>(Math.min(limit, ordered.size()));
+        Iterator<LeaderboardEntry> iterator = ordered.iterator();
+        while (top.size() < limit && iterator.hasNext()) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+
+    /** Up to {@code size} players either side of the given one, best first, with the player in between. */
+    public List<LeaderboardEntry> around(LeaderboardEntry entry, int size) {
+        List<LeaderboardEntry> window = new ArrayList<>(2 * size + 1);
+        Iterator<LeaderboardEntry> above = ordered.headSet(entry, false).descendingIterator();
+        while (window.size() < size && above.hasNext()) {
+            window.add(above.next());
+        }
+        Collections.reverse(window);
+        window.add(entry);
+        Iterator<LeaderboardEntry> below = ordered.tailSet(entry, false).iterator();
+        for (int i = 0; i < size && below.hasNext(); i++) {
+            window.add(below.next());
+        }
+        return window;
+    }
+}
@@ -0,0 +1,93 @@
+package abs.wordle.userservice;
+
+import abs.wordle.userservice.dto.AchievementProgress;
+import abs.wordle.userservice.enums.Achievement;
+import abs.wordle.userservice.enums.AchievementMetric;
+import abs.wordle.userservice.services.AchievementEvaluator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AchievementEvaluatorUnitTest {
+    private static final LocalDate DAY = LocalDate.of(2026, 1, 1);
+
+    private final AchievementEvaluator evaluator = AchievementEvaluator.compile(Achievement.values());
+
+    @Test
+    void reached_shouldIncludeEveryBadgeAtOrBelowTheValue_andClampAboveTheLastThreshold() {
+        //act && assert
+        assertEquals(0, evaluator.reached(AchievementMetric.WINS, 0));
+        assertEquals(List.of(Achievement.FIRST_WIN, Achievement.WINS_10),
+                Achievement.fromMask(evaluator.reached(AchievementMetric.WINS, 57)));
+        assertEquals(4, Long.bitCount(evaluator.reached(AchievementMetric.WINS, 5_000)));
+        assertEquals(List.of(Achievement.SOLVED_IN_2, Achievement.SOLVED_IN_3),
+                Achievement.fromMask(evaluator.reached(AchievementMetric.SOLVED_IN, 2)));
+        assertEquals(0, evaluator.reached(AchievementMetric.SOLVED_IN, 4));
+        assertEquals(0, evaluator.reached(AchievementMetric.SOLVED_IN, 0));
+    }
+
+    @Test
+    void apply_shouldAwardEachBadgeOnce() {
+        //arrange
+        AchievementProgress progress = new AchievementProgress(1L, 0, 0, 0, null, 0, null);
+        //act
+        long first = evaluator.apply(progress, true, 2, DAY, null);
+        long second = evaluator.apply(progress, true, 2, DAY, null);
+        //assert
+        assertEquals(List.of(Achievement.FIRST_WIN, Achievement.SOLVED_IN_2, Achievement.SOLVED_IN_3),
+                Achievement.fromMask(first));
+        assertEquals(0, second);
+        assertEquals(2, progress.getWins());
+        assertEquals(first, progress.getAchievements());
+    }
+
+    @Test
+    void apply_shouldAwardThresholdsPassedBeforeBadgesExisted() {
+        //arrange
+        AchievementProgress progress = new AchievementProgress(1L, 149, 0, 0, null, 0, null);
+        //act
+        long awarded = evaluator.apply(progress, true, 5, DAY, null);
+        //assert
+        assertEquals(List.of(Achievement.FIRST_WIN, Achievement.WINS_10, Achievement.WINS_100),
+                Achievement.fromMask(awarded));
+    }
+
+    @Test
+    void apply_shouldCountConsecutiveDays_andRestartAfterAGap() {
+        //arrange
+        AchievementProgress progress = new AchievementProgress(1L, 0, 0, 0, null, 0, null);
+        //act
+        long awarded = 0;
+        for (int day = 0; day < 30; day++) {
+            awarded |= evaluator.apply(progress, false, 6, DAY.plusDays(day), null);
+            evaluator.apply(progress, false, 6, DAY.plusDays(day), null);
+        }
+        //assert
+        assertEquals(30, progress.getDailyStreak());
+        assertEquals(List.of(Achievement.DAILY_STREAK_7, Achievement.DAILY_STREAK_30), Achievement.fromMask(awarded));
+        evaluator.apply(progress, false, 6, DAY.plusDays(10), null);
+        assertEquals(30, progress.getDailyStreak(), "a late result does not break the streak");
+        evaluator.apply(progress, false, 6, DAY.plusDays(32), null);
+        assertEquals(1, progress.getDailyStreak());
+        assertEquals(0, progress.getWinStreak());
+    }
+
+    @Test
+    void apply_shouldCountALateResult_butLeaveTheWinStreak() {
+        //arrange
+        AchievementProgress progress = new AchievementProgress(1L, 0, 0, 0, null, 0, null);
+        evaluator.apply(progress, true, 3, DAY, 1_000L);
+        evaluator.apply(progress, true, 3, DAY, 3_000L);
+        //act: a loss from before the second win, re-applied by the retry chain
+        evaluator.apply(progress, false, 6, DAY, 2_000L);
+        //assert
+        assertEquals(2, progress.getWinStreak());
+        assertEquals(3_000L, progress.getLastFinishedAt());
+        evaluator.apply(progress, true, 4, DAY, 4_000L);
+        assertEquals(3, progress.getWinStreak());
+        assertEquals(3, progress.getWins());
+    }
+}
@@ -0,0 +1,97 @@
+package abs.wordle.userservice;
+
+import abs.wordle.userservice.consumers.GameEventConsumer;
+import abs.wordle.userservice.services.DeadLetterReplayService;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the broker default rebalance delay, which @EmbeddedKafka otherwise sets to 0
+@EmbeddedKafka(partitions = 1, topics = {GameEventConsumer.GAME_FINISHED_TOPIC, GameEventConsumer.DEAD_LETTER_TOPIC},
+        brokerProperties = "group.initial.rebalance.delay.ms=3000")
+public class DeadLetterReplayServiceIntegrationTest {
+
+    @Test
+    void replay_shouldRepublishBytesWithoutFailureHeaders_andResumeAfterCommittedOffsets(EmbeddedKafkaBroker broker)
+            throws Exception {
+        //arrange
+        KafkaProperties kafkaProperties = new KafkaProperties();
+        kafkaProperties.setBootstrapServers(List.of(broker.getBrokersAsString()));
+        DeadLetterReplayService deadLetterReplayService = new DeadLetterReplayService(kafkaProperties);
+        try (KafkaProducer<byte[], byte[]> producer = new KafkaProducer<>(
+                Map.of("bootstrap.servers", broker.getBrokersAsString()),
+                new ByteArraySerializer(), new ByteArraySerializer())) {
+            for (int i = 0; i < 3; i++) {
+                ProducerRecord<byte[], byte[]> deadLetter = new ProducerRecord<>(GameEventConsumer.DEAD_LETTER_TOPIC,
+                        bytes("user-" + i), bytes("result-" + i));
+                deadLetter.headers()
+                        .add("trace-id", bytes("trace-" + i))
+                        .add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, bytes("boom"))
+                        .add("retry_topic-attempts", new byte[]{4});
+                producer.send(deadLetter).get();
+            }
+        }
+
+        //act
+        int none = deadLetterReplayService.replay(0);
+        int first = deadLetterReplayService.replay(2);
+        int second = deadLetterReplayService.replay(10);
+        int third = deadLetterReplayService.replay(10);
+
+        //assert
+        assertEquals(0, none);
+        assertEquals(2, first);
+        assertEquals(1, second);
+        assertEquals(0, third);
+        List<ConsumerRecord<byte[], byte[]>> replayed = readAll(broker, 3);
+        assertEquals(3, replayed.size());
+        for (int i = 0; i < 3; i++) {
+            ConsumerRecord<byte[], byte[]> record = replayed.get(i);
+            assertEquals("user-" + i, new String(record.key(), StandardCharsets.UTF_8));
+            assertEquals("result-" + i, new String(record.value(), StandardCharsets.UTF_8));
+            List<String> headers = new ArrayList<>();
+            for (Header header : record.headers()) {
+                headers.add(header.key());
+            }
+            assertEquals(List.of("trace-id"), headers);
+        }
+    }
+
+    private static List<ConsumerRecord<byte[], byte[]>> readAll(EmbeddedKafkaBroker broker, int expected) {
+        Map<String, Object> properties = KafkaTestUtils.consumerProps("replay-check", "false", broker);
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        try (KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(properties,
+                new ByteArrayDeserializer(), new ByteArrayDeserializer())) {
+            consumer.subscribe(List.of(GameEventConsumer.GAME_FINISHED_TOPIC));
+            List<ConsumerRecord<byte[], byte[]>> records = new ArrayList<>();
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (records.size() < expected && System.currentTimeMillis() < deadline) {
+                consumer.poll(Duration.ofMillis(500)).forEach(records::add);
+            }
+            return records;
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
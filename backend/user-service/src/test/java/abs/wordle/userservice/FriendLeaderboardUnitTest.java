@@ -0,0 +1,93 @@
+package abs.wordle.userservice;
+
+import abs.wordle.userservice.dto.LeaderboardEntry;
+import abs.wordle.userservice.utils.FollowGraph;
+import abs.wordle.userservice.utils.FriendBoard;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FriendLeaderboardUnitTest {
+
+    @Test
+    void followGraph_shouldKeepBothDirectionsSorted_andIgnoreRepeatedEdges() {
+        //arrange
+        FollowGraph graph = new FollowGraph();
+        //act
+        assertTrue(graph.follow(1L, 30L));
+        assertTrue(graph.follow(1L, 2L));
+        assertTrue(graph.follow(5L, 2L));
+        assertFalse(graph.follow(1L, 2L));
+        assertTrue(graph.unfollow(1L, 30L));
+        assertFalse(graph.unfollow(1L, 30L));
+        //assert
+        assertArrayEquals(new long[]{2L}, graph.following(1L));
+        assertArrayEquals(new long[]{1L, 5L}, graph.followers(2L));
+        assertArrayEquals(new long[0], graph.followers(30L));
+        assertTrue(graph.isFollowing(5L, 2L));
+        assertFalse(graph.isFollowing(2L, 5L));
+    }
+
+    @Test
+    void followGraph_removeUser_shouldDropEveryEdgeOfTheUser() {
+        //arrange
+        FollowGraph.Builder builder = new FollowGraph.Builder();
+        builder.add(1L, 2L);
+        builder.add(2L, 3L);
+        builder.add(3L, 2L);
+        builder.add(2L, 1L);
+        FollowGraph graph = builder.build();
+        //act
+        graph.removeUser(2L);
+        //assert
+        assertArrayEquals(new long[0], graph.following(1L));
+        assertArrayEquals(new long[0], graph.following(3L));
+        assertArrayEquals(new long[0], graph.followers(1L));
+        assertArrayEquals(new long[0], graph.followers(3L));
+        assertArrayEquals(new long[0], graph.following(2L));
+    }
+
+    @Test
+    void friendBoard_shouldKeepTheBest_andAskForARebuildWhenALeaderDropsBelowTheCut() {
+        //arrange
+        FriendBoard board = FriendBoard.of(List.of(
+                new LeaderboardEntry(1L, "a", 5),
+                new LeaderboardEntry(2L, "b", 9),
+                new LeaderboardEntry(3L, "c", 7)), 2);
+        //act
+        FriendBoard passed = board.with(new LeaderboardEntry(3L, "c", 12), 2);
+        FriendBoard dropped = passed.with(new LeaderboardEntry(2L, "b", 1), 2);
+        //assert
+        assertFalse(board.complete());
+        assertEquals(List.of(2L, 3L), board.entries().stream().map(LeaderboardEntry::userId).toList());
+        assertEquals(List.of(3L, 2L), passed.entries().stream().map(LeaderboardEntry::userId).toList());
+        assertNull(dropped);
+    }
+
+    @Test
+    void friendBoard_updatedIncrementally_shouldMatchABoardBuiltFromScratch() {
+        //arrange
+        Random random = new Random(7);
+        Map<Long, LeaderboardEntry> friends = new HashMap<>();
+        for (long id = 1; id <= 200; id++) {
+            friends.put(id, new LeaderboardEntry(id, "u" + id, random.nextInt(50)));
+        }
+        FriendBoard board = FriendBoard.of(friends.values(), 10);
+        //act && assert
+        for (int i = 0; i < 5_000; i++) {
+            long id = 1 + random.nextInt(200);
+            int wins = Math.max(0, friends.get(id).wins() + random.nextInt(7) - 2);
+            LeaderboardEntry changed = new LeaderboardEntry(id, "u" + id, wins);
+            friends.put(id, changed);
+            FriendBoard updated = board.with(changed, 10);
+            board = updated != null ? updated : FriendBoard.of(friends.values(), 10);
+            assertEquals(FriendBoard.of(friends.values(), 10).entries(), board.entries());
+        }
+        assertEquals(10, board.size());
+    }
+}
@@ -0,0 +1,134 @@
+package abs.wordle.userservice;
+
+import abs.wordle.events.GameFinishedEvent;
+import abs.wordle.events.GameResult;
+import abs.wordle.userservice.consumers.GameEventConsumer;
+import abs.wordle.userservice.dto.UserStatsDelta;
+import abs.wordle.userservice.repository.UserStatsRepository;
+import abs.wordle.userservice.services.AchievementService;
+import abs.wordle.userservice.services.LeaderboardService;
+import abs.wordle.userservice.services.SkillRatingService;
+import abs.wordle.userservice.services.WindowedLeaderboardService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GameEventConsumerUnitTest {
+    @Mock
+    private UserStatsRepository userStatsRepository;
+    @Mock
+    private SkillRatingService skillRatingService;
+    @Mock
+    private AchievementService achievementService;
+    @Mock
+    private LeaderboardService leaderboardService;
+    @Mock
+    private WindowedLeaderboardService windowedLeaderboardService;
+    @Mock
+    private DeadLetterPublishingRecoverer deadLetterPublishingRecoverer;
+    @InjectMocks
+    private GameEventConsumer gameEventConsumer;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void handleGameFinished_shouldCollapseBatchIntoOneDeltaPerUser() {
+        //arrange
+        List<ConsumerRecord<String, GameFinishedEvent>> events = List.of(
+                record(0, finished(1L, GameResult.WIN, 4)),
+                record(1, finished(2L, GameResult.LOSE, 6)),
+                record(2, finished(1L, GameResult.WIN, 4)),
+                record(3, finished(null, GameResult.WIN, 4)),
+                record(4, finished(1L, GameResult.LOSE, 6)));
+        //act
+        gameEventConsumer.handleGameFinished(events);
+        //assert
+        ArgumentCaptor<Collection<UserStatsDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(userStatsRepository, times(1)).incrementStats(captor.capture());
+        Map<Long, UserStatsDelta> deltas = captor.getValue().stream()
+                .collect(Collectors.toMap(UserStatsDelta::getUserId, delta -> delta));
+        assertEquals(2, deltas.size());
+        assertEquals(2, deltas.get(1L).getWins());
+        assertEquals(1, deltas.get(1L).getLosses());
+        assertEquals(0, deltas.get(2L).getWins());
+        assertEquals(1, deltas.get(2L).getLosses());
+        verify(leaderboardService).refreshAfterCommit(List.of(1L));
+        verifyNoInteractions(deadLetterPublishingRecoverer);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void handleGameFinished_shouldDeadLetterUndeserializableRecords_andApplyTheRest() {
+        //arrange
+        ConsumerRecord<String, GameFinishedEvent> poison = record(1, null);
+        poison.headers().add(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, new byte[0]);
+        List<ConsumerRecord<String, GameFinishedEvent>> events = List.of(
+                record(0, finished(1L, GameResult.WIN, 4)),
+                poison,
+                record(2, finished(1L, GameResult.WIN, 4)));
+        //act
+        gameEventConsumer.handleGameFinished(events);
+        //assert
+        verify(deadLetterPublishingRecoverer, times(1)).accept(eq(poison), any(Exception.class));
+        ArgumentCaptor<Collection<UserStatsDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(userStatsRepository, times(1)).incrementStats(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(2, captor.getValue().iterator().next().getWins());
+        ArgumentCaptor<Collection<GameFinishedEvent>> rated = ArgumentCaptor.forClass(Collection.class);
+        verify(skillRatingService, times(1)).applyResults(rated.capture());
+        assertEquals(2, rated.getValue().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void handleGameFinished_shouldTrackWinRunsAndGuessDistribution_inPlayOrder() {
+        //arrange: W W L W W W L W
+        GameResult[] results = {GameResult.WIN, GameResult.WIN, GameResult.LOSE, GameResult.WIN,
+                GameResult.WIN, GameResult.WIN, GameResult.LOSE, GameResult.WIN};
+        int[] attempts = {1, 3, 6, 3, 2, 3, 6, 5};
+        List<ConsumerRecord<String, GameFinishedEvent>> events = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            events.add(record(i, new GameFinishedEvent(1L, results[i], attempts[i], 1_000L + i, 0)));
+        }
+        //act
+        gameEventConsumer.handleGameFinished(events);
+        //assert
+        ArgumentCaptor<Collection<UserStatsDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(userStatsRepository, times(1)).incrementStats(captor.capture());
+        UserStatsDelta delta = captor.getValue().iterator().next();
+        assertEquals(6, delta.getWins());
+        assertEquals(2, delta.getLosses());
+        assertEquals(2, delta.getLeadingWins());
+        assertEquals(3, delta.getLongestRun());
+        assertEquals(1, delta.getTrailingWins());
+        assertTrue(delta.isLost());
+        assertArrayEquals(new int[]{1, 1, 3, 0, 1, 0}, delta.getSolvedIn());
+        assertEquals(1_007L, delta.getLastFinishedAt());
+    }
+
+    private static GameFinishedEvent finished(Long userId, GameResult result, int attempts) {
+        return new GameFinishedEvent(userId, result, attempts, null, 0);
+    }
+
+    private static ConsumerRecord<String, GameFinishedEvent> record(long offset, GameFinishedEvent event) {
+        String key = event == null ? null : String.valueOf(event.getUserId());
+        return new ConsumerRecord<>(GameEventConsumer.GAME_FINISHED_TOPIC, 0, offset, key, event);
+    }
+}
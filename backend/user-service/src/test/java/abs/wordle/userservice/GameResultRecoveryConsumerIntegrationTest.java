@@ -0,0 +1,105 @@
+package abs.wordle.userservice;
+
+import abs.wordle.events.GameFinishedEvent;
+import abs.wordle.events.GameResult;
+import abs.wordle.userservice.consumers.GameEventConsumer;
+import abs.wordle.userservice.consumers.GameResultRecoveryConsumer;
+import abs.wordle.userservice.dto.UserStatsDelta;
+import abs.wordle.userservice.repository.UserStatsRepository;
+import abs.wordle.userservice.services.AchievementService;
+import abs.wordle.userservice.services.LeaderboardService;
+import abs.wordle.userservice.services.SkillRatingService;
+import abs.wordle.userservice.services.WindowedLeaderboardService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {GameResultRecoveryConsumer.class, SimpleMeterRegistry.class}, properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.auto-offset-reset=earliest",
+        "wordle.game-finished.retry-delay-ms=50",
+        "wordle.game-finished.retry-max-delay-ms=500"
+})
+@ImportAutoConfiguration(KafkaAutoConfiguration.class)
+@EmbeddedKafka(partitions = 1)
+public class GameResultRecoveryConsumerIntegrationTest {
+    private static final long FLAKY_USER = 1L;
+    private static final long BROKEN_USER = 2L;
+
+    @Autowired
+    private KafkaTemplate<Object, Object> kafkaTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @MockitoBean
+    private UserStatsRepository userStatsRepository;
+    @MockitoBean
+    private SkillRatingService skillRatingService;
+    @MockitoBean
+    private AchievementService achievementService;
+    @MockitoBean
+    private LeaderboardService leaderboardService;
+    @MockitoBean
+    private WindowedLeaderboardService windowedLeaderboardService;
+
+    private final Map<Long, AtomicInteger> attempts = new ConcurrentHashMap<>();
+
+    @Test
+    void handleRecovery_shouldApplyTheResultOnce_whenALaterTierSucceeds() throws Exception {
+        //arrange
+        failStats(FLAKY_USER, 1);
+        GameFinishedEvent event = new GameFinishedEvent(FLAKY_USER, GameResult.WIN, 3, System.currentTimeMillis(), 0);
+        //act
+        kafkaTemplate.send(GameEventConsumer.RECOVERY_TOPIC, String.valueOf(FLAKY_USER), event).get();
+        //assert
+        verify(windowedLeaderboardService, timeout(10_000)).applyResults(List.of(event));
+        assertEquals(2, attempts.get(FLAKY_USER).get());
+        assertEquals(0.0, meterRegistry.counter("wordle.stats.dead_letters").count());
+    }
+
+    @Test
+    void handleRecovery_shouldDeadLetterTheResult_whenEveryTierFails() throws Exception {
+        //arrange
+        failStats(BROKEN_USER, Integer.MAX_VALUE);
+        GameFinishedEvent event = new GameFinishedEvent(BROKEN_USER, GameResult.LOSE, 6, System.currentTimeMillis(), 0);
+        //act
+        kafkaTemplate.send(GameEventConsumer.RECOVERY_TOPIC, String.valueOf(BROKEN_USER), event).get();
+        //assert: the main topic and three retry tiers, then the dead-letter topic
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (meterRegistry.counter("wordle.stats.dead_letters").count() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(1.0, meterRegistry.counter("wordle.stats.dead_letters").count());
+        assertEquals(4, attempts.get(BROKEN_USER).get());
+        verify(windowedLeaderboardService, never()).applyResults(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void failStats(long userId, int failures) {
+        when(userStatsRepository.incrementStats(any())).thenAnswer(invocation -> {
+            for (UserStatsDelta delta : (Collection<UserStatsDelta>) invocation.getArgument(0)) {
+                int attempt = attempts.computeIfAbsent(delta.getUserId(), id -> new AtomicInteger()).incrementAndGet();
+                if (delta.getUserId() == userId && attempt <= failures) {
+                    throw new IllegalStateException("Stats update failed for user " + userId);
+                }
+            }
+            return 1;
+        });
+    }
+}
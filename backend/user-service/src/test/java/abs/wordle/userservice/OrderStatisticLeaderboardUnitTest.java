@@ -0,0 +1,87 @@
+package abs.wordle.userservice;
+
+import abs.wordle.userservice.dto.LeaderboardEntry;
+import abs.wordle.userservice.utils.FenwickTree;
+import abs.wordle.userservice.utils.OrderStatisticLeaderboard;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderStatisticLeaderboardUnitTest {
+
+    @Test
+    void rank_shouldMatchSqlRank_withTiesSharingARank() {
+        //arrange
+        OrderStatisticLeaderboard leaderboard = new OrderStatisticLeaderboard();
+        leaderboard.put(new LeaderboardEntry(1L, "a", 10));
+        leaderboard.put(new LeaderboardEntry(2L, "b", 7));
+        leaderboard.put(new LeaderboardEntry(3L, "c", 7));
+        leaderboard.put(new LeaderboardEntry(4L, "d", 0));
+        //act && assert
+        assertEquals(1, leaderboard.rank(10));
+        assertEquals(2, leaderboard.rank(7));
+        assertEquals(4, leaderboard.rank(0));
+        assertEquals(3, leaderboard.countWithFewerWins(10));
+        assertEquals(0, leaderboard.countWithFewerWins(0));
+    }
+
+    @Test
+    void put_shouldMoveAnExistingPlayer_andRemoveShouldForgetThem() {
+        //arrange
+        OrderStatisticLeaderboard leaderboard = new OrderStatisticLeaderboard();
+        leaderboard.put(new LeaderboardEntry(1L, "a", 3));
+        leaderboard.put(new LeaderboardEntry(2L, "b", 5));
+        //act
+        leaderboard.put(new LeaderboardEntry(1L, "a", 50_000));
+        leaderboard.remove(2L);
+        leaderboard.put(new LeaderboardEntry(3L, "c", 4));
+        //assert
+        assertEquals(2, leaderboard.size());
+        assertNull(leaderboard.find("b"));
+        assertEquals(50_000, leaderboard.find("a").wins());
+        assertEquals(List.of(1L, 3L), leaderboard.top(20).stream().map(LeaderboardEntry::userId).toList());
+        assertEquals(2, leaderboard.rank(4));
+    }
+
+    @Test
+    void around_shouldReturnNeighboursBestFirst_andStopAtTheEnds() {
+        //arrange
+        OrderStatisticLeaderboard leaderboard = new OrderStatisticLeaderboard();
+        for (long id = 1; id <= 10; id++) {
+            leaderboard.put(new LeaderboardEntry(id, "u" + id, (int) id * 10));
+        }
+        leaderboard.put(new LeaderboardEntry(11L, "tie", 50));
+        //act
+        List<String> middle = leaderboard.around(leaderboard.find("u5"), 2).stream()
+                .map(LeaderboardEntry::username).toList();
+        List<String> top = leaderboard.around(leaderboard.find("u10"), 3).stream()
+                .map(LeaderboardEntry::username).toList();
+        //assert: among equal wins the higher id comes first
+        assertEquals(List.of("u6", "tie", "u5", "u4", "u3"), middle);
+        assertEquals(List.of("u10", "u9", "u8", "u7"), top);
+    }
+
+    @Test
+    void fenwickTree_shouldKeepPrefixSums_whileGrowing() {
+        //arrange
+        FenwickTree tree = new FenwickTree(1);
+        long[] counts = new long[5_000];
+        Random random = new Random(7);
+        //act && assert
+        for (int step = 0; step < 2_000; step++) {
+            int index = step < 20 ? random.nextInt(8) : random.nextInt(counts.length);
+            tree.add(index, 1);
+            counts[index]++;
+            int probe = random.nextInt(counts.length);
+            long expected = 0;
+            for (int i = 0; i <= probe; i++) {
+                expected += counts[i];
+            }
+            assertEquals(expected, tree.prefixSum(probe));
+            assertEquals(step + 1, tree.total());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package abs.wordle.userservice;
+
+import abs.wordle.userservice.consumers.GameEventConsumer;
+import abs.wordle.userservice.consumers.GameResultRecoveryConsumer;
+import abs.wordle.userservice.services.DeadLetterReplayService;
+import abs.wordle.userservice.services.RetryTopicDepthMonitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EmbeddedKafka(partitions = 1, topics = {RetryTopicDepthMonitorIntegrationTest.FIRST_TIER, GameEventConsumer.DEAD_LETTER_TOPIC})
+public class RetryTopicDepthMonitorIntegrationTest {
+    static final String FIRST_TIER = GameEventConsumer.RECOVERY_TOPIC + "-0";
+
+    @Test
+    void refresh_shouldReportLagOfEachTier_againstTheGroupThatDrainsIt(EmbeddedKafkaBroker broker) throws Exception {
+        //arrange
+        Map<String, Object> config = Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        try (KafkaProducer<byte[], byte[]> producer = new KafkaProducer<>(config,
+                new ByteArraySerializer(), new ByteArraySerializer())) {
+            for (int i = 0; i < 3; i++) {
+                producer.send(new ProducerRecord<>(FIRST_TIER, new byte[]{(byte) i})).get();
+            }
+            for (int i = 0; i < 2; i++) {
+                producer.send(new ProducerRecord<>(GameEventConsumer.DEAD_LETTER_TOPIC, new byte[]{(byte) i})).get();
+            }
+        }
+        TopicPartition tier = new TopicPartition(FIRST_TIER, 0);
+        TopicPartition deadLetters = new TopicPartition(GameEventConsumer.DEAD_LETTER_TOPIC, 0);
+        try (AdminClient adminClient = AdminClient.create(config)) {
+            adminClient.alterConsumerGroupOffsets(GameResultRecoveryConsumer.RECOVERY_GROUP,
+                    Map.of(tier, new OffsetAndMetadata(1))).all().get();
+            // the dead-letter handler's group reads the topic too, but only replays drain it
+            adminClient.alterConsumerGroupOffsets(GameResultRecoveryConsumer.RECOVERY_GROUP + "-dlt",
+                    Map.of(deadLetters, new OffsetAndMetadata(2))).all().get();
+            adminClient.alterConsumerGroupOffsets(DeadLetterReplayService.REPLAY_GROUP,
+                    Map.of(deadLetters, new OffsetAndMetadata(1), tier, new OffsetAndMetadata(3))).all().get();
+        }
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RetryTopicDepthMonitor monitor = new RetryTopicDepthMonitor(new KafkaAdmin(config), meterRegistry);
+
+        //act
+        try {
+            monitor.refresh();
+        } finally {
+            monitor.destroy();
+        }
+
+        //assert
+        assertEquals(2.0, depth(meterRegistry, FIRST_TIER));
+        assertEquals(1.0, depth(meterRegistry, GameEventConsumer.DEAD_LETTER_TOPIC));
+    }
+
+    private static double depth(SimpleMeterRegistry meterRegistry, String topic) {
+        return meterRegistry.get("wordle.stats.retry.depth").tag("topic", topic).gauge().value();
+    }
+}
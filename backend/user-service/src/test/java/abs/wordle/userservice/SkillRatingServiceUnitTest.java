@@ -0,0 +1,115 @@
+package abs.wordle.userservice;
+
+import abs.wordle.events.GameFinishedEvent;
+import abs.wordle.events.GameResult;
+import abs.wordle.userservice.dto.SkillRating;
+import abs.wordle.userservice.repository.SkillRatingRepository;
+import abs.wordle.userservice.services.SkillRatingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SkillRatingServiceUnitTest {
+    private static final int HARD_WORD = 101;
+    private static final int EASY_WORD = 202;
+
+    @Mock
+    private SkillRatingRepository skillRatingRepository;
+    @InjectMocks
+    private SkillRatingService skillRatingService;
+
+    @Test
+    void score_shouldFallWithGuessesTaken() {
+        //act && assert
+        assertEquals(1.0, SkillRatingService.score(game(1L, GameResult.WIN, 1, HARD_WORD)));
+        assertEquals(0.5, SkillRatingService.score(game(1L, GameResult.WIN, 6, HARD_WORD)), 1e-9);
+        assertEquals(0.0, SkillRatingService.score(game(1L, GameResult.LOSE, 6, HARD_WORD)));
+        assertEquals(0.5, SkillRatingService.expectedScore(1500, 1500), 1e-9);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void applyResults_shouldRewardBeatingHardWordsMore_andMoveWordsTheOtherWay() {
+        //arrange
+        Map<Long, SkillRating> players = new HashMap<>();
+        players.put(1L, new SkillRating(1L, 1500, 100));
+        players.put(2L, new SkillRating(2L, 1500, 100));
+        Map<Long, SkillRating> words = new HashMap<>();
+        words.put((long) HARD_WORD, new SkillRating(HARD_WORD, 1800, 100));
+        words.put((long) EASY_WORD, new SkillRating(EASY_WORD, 1200, 100));
+        when(skillRatingRepository.findPlayers(anyCollection())).thenReturn(players);
+        when(skillRatingRepository.findWords(anyCollection())).thenReturn(words);
+        //act
+        skillRatingService.applyResults(List.of(
+                game(1L, GameResult.WIN, 3, HARD_WORD),
+                game(2L, GameResult.WIN, 3, EASY_WORD),
+                game(null, GameResult.WIN, 1, EASY_WORD)));
+        //assert
+        ArgumentCaptor<Collection<SkillRating>> playerCaptor = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Collection<SkillRating>> wordCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(skillRatingRepository, times(1)).addDeltas(playerCaptor.capture(), wordCaptor.capture());
+        Map<Long, SkillRating> ratedPlayers = byId(playerCaptor.getValue());
+        Map<Long, SkillRating> ratedWords = byId(wordCaptor.getValue());
+        assertTrue(ratedPlayers.get(1L).getDelta() > 0);
+        assertTrue(ratedPlayers.get(2L).getDelta() < 0, "a slow solve of an easy word is below expectation");
+        assertTrue(ratedWords.get((long) HARD_WORD).getDelta() < 0);
+        assertTrue(ratedWords.get((long) EASY_WORD).getDelta() > 0);
+        assertEquals(1, ratedPlayers.get(1L).getNewGames());
+        assertEquals(1, ratedWords.get((long) EASY_WORD).getNewGames());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void applyResults_shouldRateGamesInPlayOrder_andStartUnplayedWordsAtInitialRating() {
+        //arrange
+        Map<Long, SkillRating> players = new HashMap<>();
+        players.put(1L, new SkillRating(1L, 1500, 0));
+        when(skillRatingRepository.findPlayers(anyCollection())).thenReturn(players);
+        when(skillRatingRepository.findWords(anyCollection())).thenReturn(new HashMap<>());
+        //act
+        skillRatingService.applyResults(List.of(
+                game(1L, GameResult.LOSE, 6, HARD_WORD),
+                game(1L, GameResult.LOSE, 6, HARD_WORD)));
+        //assert: the second loss is expected more than the first, so it costs less
+        ArgumentCaptor<Collection<SkillRating>> wordCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(skillRatingRepository).addDeltas(any(), wordCaptor.capture());
+        SkillRating player = players.get(1L);
+        double firstLoss = 40 * 0.5;
+        assertEquals(2, player.getNewGames());
+        assertTrue(player.getDelta() < -firstLoss && player.getDelta() > -2 * firstLoss);
+        SkillRating word = wordCaptor.getValue().iterator().next();
+        assertEquals(HARD_WORD, word.getId());
+        assertTrue(word.getRating() > SkillRatingRepository.INITIAL_RATING);
+    }
+
+    @Test
+    void applyResults_shouldSkipDatabase_whenNoResultBelongsToAUser() {
+        //act
+        skillRatingService.applyResults(List.of(game(null, GameResult.WIN, 2, HARD_WORD)));
+        //assert
+        verifyNoInteractions(skillRatingRepository);
+    }
+
+    private static Map<Long, SkillRating> byId(Collection<SkillRating> ratings) {
+        return ratings.stream().collect(Collectors.toMap(SkillRating::getId, rating -> rating));
+    }
+
+    private static GameFinishedEvent game(Long userId, GameResult result, int attempts, int wordCode) {
+        return new GameFinishedEvent(userId, result, attempts, null, wordCode);
+    }
+}
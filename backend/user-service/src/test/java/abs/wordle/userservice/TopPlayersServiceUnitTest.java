@@ -0,0 +1,88 @@
+package abs.wordle.userservice;
+
+import abs.wordle.userservice.dto.LeaderboardEntry;
+import abs.wordle.userservice.dto.StandingsChangedEvent;
+import abs.wordle.userservice.models.User;
+import abs.wordle.userservice.repository.UserRepository;
+import abs.wordle.userservice.services.TopPlayersService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TopPlayersServiceUnitTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private TopPlayersService topPlayersService;
+
+    @BeforeEach
+    void setUp() {
+        topPlayersService = new TopPlayersService(userRepository, new ObjectMapper(), Duration.ofHours(1), Duration.ZERO);
+    }
+
+    @Test
+    void snapshot_shouldOnlyRebuild_whenAnUpdateCouldChangeTheTop() {
+        //arrange
+        when(userRepository.findAllByOrderByWinsDesc(any(Pageable.class))).thenReturn(players(20, 10));
+        TopPlayersService.Snapshot first = topPlayersService.snapshot();
+        //act
+        topPlayersService.onStandingsChanged(new StandingsChangedEvent(List.of(new LeaderboardEntry(999L, "low", 9))));
+        TopPlayersService.Snapshot unchanged = topPlayersService.snapshot();
+        topPlayersService.onStandingsChanged(new StandingsChangedEvent(List.of(new LeaderboardEntry(999L, "low", 10))));
+        topPlayersService.snapshot();
+        //assert
+        assertSame(first, unchanged);
+        verify(userRepository, times(2)).findAllByOrderByWinsDesc(any(Pageable.class));
+        assertEquals(10, first.lowestWins());
+        assertTrue(new String(first.json()).startsWith("{\"player0\":29,"));
+    }
+
+    @Test
+    void snapshot_shouldKeepEtag_whenRebuiltContentIsTheSame() {
+        //arrange
+        when(userRepository.findAllByOrderByWinsDesc(any(Pageable.class))).thenReturn(players(3, 0));
+        TopPlayersService.Snapshot first = topPlayersService.snapshot();
+        //act
+        topPlayersService.onStandingsChanged(new StandingsChangedEvent(List.of(new LeaderboardEntry(1L, "player1", 1))));
+        TopPlayersService.Snapshot second = topPlayersService.snapshot();
+        //assert
+        assertEquals(first.etag(), second.etag());
+        assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+    }
+
+    @Test
+    void snapshot_shouldServeLastGoodSnapshot_whenDatabaseFails() {
+        //arrange
+        when(userRepository.findAllByOrderByWinsDesc(any(Pageable.class)))
+                .thenReturn(players(20, 10))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        TopPlayersService.Snapshot first = topPlayersService.snapshot();
+        topPlayersService.onStandingsChanged(new StandingsChangedEvent(List.of(new LeaderboardEntry(0L, "player0", 30))));
+        //act
+        TopPlayersService.Snapshot served = topPlayersService.snapshot();
+        //assert
+        assertSame(first, served);
+    }
+
+    private static List<User> players(int count, int lowestWins) {
+        List<User> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            players.add(User.builder().id((long) i).username("player" + i).wins(lowestWins + count - 1 - i).build());
+        }
+        return players;
+    }
+}
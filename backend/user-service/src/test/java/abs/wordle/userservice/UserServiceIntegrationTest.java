@@ -1,30 +1,53 @@
 package abs.wordle.userservice;
 
+import abs.wordle.events.GameFinishedEvent;
+import abs.wordle.events.GameResult;
 import abs.wordle.userservice.dto.AuthenticationRequestDTO;
+import abs.wordle.userservice.dto.DailyWins;
+import abs.wordle.userservice.dto.RankedPlayer;
+import abs.wordle.userservice.dto.SkillRating;
 import abs.wordle.userservice.dto.UserRequestDTO;
+import abs.wordle.userservice.dto.UserResponseDTO;
+import abs.wordle.userservice.dto.UserStatsDelta;
+import abs.wordle.userservice.enums.LeaderboardWindow;
 import abs.wordle.userservice.enums.UserRole;
 import abs.wordle.userservice.models.User;
+import abs.wordle.userservice.repository.SkillRatingRepository;
 import abs.wordle.userservice.repository.UserRepository;
+import abs.wordle.userservice.repository.UserStatsRepository;
+import abs.wordle.userservice.repository.WindowedLeaderboardRepository;
 import abs.wordle.userservice.security.JwtService;
 import abs.wordle.userservice.services.AuthenticationService;
+import abs.wordle.userservice.services.DeadLetterReplayService;
+import abs.wordle.userservice.services.WindowedLeaderboardService;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -46,6 +69,20 @@ public class UserServiceIntegrationTest {
     private PasswordEncoder passwordEncoder;
     @Autowired
     private JwtService jwtService;
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+    @Autowired
+    private SkillRatingRepository skillRatingRepository;
+    @Autowired
+    private WindowedLeaderboardService windowedLeaderboardService;
+    @Autowired
+    private WindowedLeaderboardRepository windowedLeaderboardRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @MockitoBean
+    private DeadLetterReplayService deadLetterReplayService;
 
     @Test
     void register_shouldCreateUserAndReturnToken_whenRequestIsValid() throws Exception {
@@ -183,6 +220,10 @@ public class UserServiceIntegrationTest {
         assertEquals(12, top20Users.get("username12"));
         assertEquals("username24", top20Users.keySet().iterator().next());
         assertEquals(20, top20Users.size());
+        String etag = result.getResponse().getHeader("ETag");
+        assertNotNull(etag);
+        mockMvc.perform(get("/api/users/top").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
     }
 
     @Test
@@ -206,6 +247,14 @@ public class UserServiceIntegrationTest {
 
     }
 
+    @Test
+    void getUserForInternalCommunication_shouldReturnNotFound_whenUserDoesNotExist() throws Exception {
+        //act && assert
+        mockMvc.perform(get("/api/users/internal/" + Long.MAX_VALUE)
+                    .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getMyRank_shouldReturnCorrectRank_whenUserIsAuthenticated() throws Exception {
         List<User> users = new ArrayList<>();
@@ -238,4 +287,221 @@ public class UserServiceIntegrationTest {
             .andExpect(jsonPath("$.rank").value(1));
 
     }
+
+    @Test
+    void incrementStats_shouldAddDeltasInPlace_andSkipUnknownUsers() {
+        //arrange
+        User user = userRepository.saveAndFlush(User.builder()
+                .username("username")
+                .password("password")
+                .wins(3)
+                .losses(1)
+                .build());
+        UserStatsDelta delta = new UserStatsDelta(user.getId());
+        delta.setWins(2);
+        delta.setLosses(5);
+        UserStatsDelta unknown = new UserStatsDelta(Long.MAX_VALUE);
+        unknown.setWins(1);
+        //act
+        int updated = userStatsRepository.incrementStats(List.of(delta, unknown));
+        //assert
+        assertEquals(1, updated);
+        assertEquals(5, jdbcTemplate.queryForObject(
+                "SELECT wins FROM user_schema.users WHERE id = ?", Integer.class, user.getId()));
+        assertEquals(6, jdbcTemplate.queryForObject(
+                "SELECT losses FROM user_schema.users WHERE id = ?", Integer.class, user.getId()));
+    }
+
+    @Test
+    void incrementStats_shouldExtendStreaksAndDistribution_fromBatchShape() {
+        //arrange
+        User user = userRepository.saveAndFlush(User.builder()
+                .username("username")
+                .password("password")
+                .wins(10)
+                .losses(2)
+                .currentStreak(4)
+                .maxStreak(5)
+                .build());
+        UserStatsDelta delta = new UserStatsDelta(user.getId());
+        delta.recordWin(2, 1_000L);
+        delta.recordWin(3, 2_000L);
+        delta.recordLoss(3_000L);
+        delta.recordWin(4, 4_000L);
+        //act
+        userStatsRepository.incrementStats(List.of(delta));
+        //assert: the stored run of 4 grew to 6 before the loss, then a new run of 1 started
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT currentStreak, maxStreak, guessDistribution FROM user_schema.users WHERE id = ?", user.getId());
+        assertEquals(1, ((Number) row.get("currentstreak")).intValue());
+        assertEquals(6, ((Number) row.get("maxstreak")).intValue());
+        entityManager.clear();
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+        assertArrayEquals(new int[]{0, 1, 1, 1, 0, 0}, reloaded.getGuessDistribution());
+        UserResponseDTO profile = new UserResponseDTO(reloaded, 1L);
+        assertEquals(3.0, profile.getAverageGuesses());
+        assertEquals(13 * 100.0 / 16, profile.getWinRate());
+    }
+
+    @Test
+    void incrementStats_shouldCountALateBatch_butLeaveTheStreaks() {
+        //arrange: the stored streak already includes a result that finished at 5s
+        User user = userRepository.saveAndFlush(User.builder()
+                .username("username")
+                .password("password")
+                .wins(10)
+                .losses(2)
+                .currentStreak(4)
+                .maxStreak(5)
+                .lastFinishedAt(new Timestamp(5_000L).toLocalDateTime())
+                .build());
+        UserStatsDelta late = new UserStatsDelta(user.getId());
+        late.recordLoss(3_000L);
+        //act
+        userStatsRepository.incrementStats(List.of(late));
+        //assert
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT losses, currentStreak, maxStreak, lastFinishedAt FROM user_schema.users WHERE id = ?",
+                user.getId());
+        assertEquals(3, ((Number) row.get("losses")).intValue());
+        assertEquals(4, ((Number) row.get("currentstreak")).intValue());
+        assertEquals(5, ((Number) row.get("maxstreak")).intValue());
+        assertEquals(new Timestamp(5_000L), row.get("lastfinishedat"));
+    }
+
+    @Test
+    void ratingLeaderboard_shouldReflectAddedDeltas_andSkipUnratedUsers() throws Exception {
+        //arrange
+        User strong = userRepository.save(User.builder().username("strong").wins(1).rating(1600.0).ratedGames(10).build());
+        User testUser = userRepository.save(User.builder().username("testUser").wins(50).rating(1550.0).ratedGames(10).build());
+        userRepository.saveAndFlush(User.builder().username("unrated").wins(99).build());
+        SkillRating gain = new SkillRating(testUser.getId(), 1550.0, 10);
+        gain.adjust(100);
+        SkillRating word = new SkillRating(4242, 1500.0, 0);
+        word.adjust(-12.5);
+        //act
+        skillRatingRepository.addDeltas(List.of(gain), List.of(word));
+        skillRatingRepository.addDeltas(List.of(), List.of(word));
+        entityManager.clear();
+        //assert
+        assertEquals(1475.0, skillRatingRepository.findWords(List.of(4242L)).get(4242L).getRating());
+        String token = jwtService.generateToken(testUser);
+        mockMvc.perform(get("/api/users/me/rating-rank")
+                        .header("Authorization", "Bearer " + token)
+                        .header("X-Username", testUser.getUsername()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(1));
+        MvcResult result = mockMvc.perform(get("/api/users/top/rating"))
+                .andExpect(status().isOk())
+                .andReturn();
+        LinkedHashMap<String, Long> top = objectMapper.readValue(
+                result.getResponse().getContentAsString(), new TypeReference<>() {});
+        assertEquals(List.of("testUser", "strong"), new ArrayList<>(top.keySet()));
+        assertEquals(1650L, top.get("testUser"));
+        assertEquals(11, userRepository.findById(testUser.getId()).orElseThrow().getRatedGames());
+        assertEquals(1600.0, userRepository.findById(strong.getId()).orElseThrow().getRating());
+    }
+
+    @Test
+    void getPlayersAroundMe_shouldSeekNeighboursAndRankTies() throws Exception {
+        //arrange
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            users.add(User.builder().username("username" + i).wins(i * 2).build());
+        }
+        userRepository.saveAll(users);
+        User testUser = userRepository.saveAndFlush(User.builder().username("testUser").wins(20).build());
+        String token = jwtService.generateToken(testUser);
+        //act && assert: username10 also has 20 wins and a lower id, so it sorts just below
+        mockMvc.perform(get("/api/users/me/around")
+                        .param("size", "2")
+                        .header("Authorization", "Bearer " + token)
+                        .header("X-Username", testUser.getUsername()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].username").value("username12"))
+                .andExpect(jsonPath("$[0].rank").value(8))
+                .andExpect(jsonPath("$[1].username").value("username11"))
+                .andExpect(jsonPath("$[2].username").value("testUser"))
+                .andExpect(jsonPath("$[2].rank").value(10))
+                .andExpect(jsonPath("$[3].username").value("username10"))
+                .andExpect(jsonPath("$[3].rank").value(10))
+                .andExpect(jsonPath("$[4].username").value("username9"))
+                .andExpect(jsonPath("$[4].rank").value(12));
+    }
+
+    @Test
+    void windowedLeaderboards_shouldSumDayBuckets_andArchiveFinishedSeasons() throws Exception {
+        //arrange
+        User first = userRepository.save(User.builder().username("first").wins(0).build());
+        User second = userRepository.saveAndFlush(User.builder().username("second").wins(0).build());
+        long now = System.currentTimeMillis();
+        long tenDaysAgo = now - 10L * 24 * 60 * 60 * 1000;
+        //act
+        windowedLeaderboardService.applyResults(List.of(
+                new GameFinishedEvent(first.getId(), GameResult.WIN, 3, now, 0),
+                new GameFinishedEvent(first.getId(), GameResult.WIN, 4, now, 0),
+                new GameFinishedEvent(first.getId(), GameResult.LOSE, 6, now, 0),
+                new GameFinishedEvent(second.getId(), GameResult.WIN, 2, now, 0),
+                new GameFinishedEvent(second.getId(), GameResult.WIN, 2, tenDaysAgo, 0),
+                new GameFinishedEvent(second.getId(), GameResult.WIN, 2, tenDaysAgo, 0)));
+        //assert: the wins from ten days ago are outside both windows
+        List<RankedPlayer> week = windowedLeaderboardService.top(LeaderboardWindow.WEEK, 20);
+        assertEquals(List.of(new RankedPlayer(1, "first", 2), new RankedPlayer(2, "second", 1)), week);
+        assertEquals(new RankedPlayer(2, "second", 1), windowedLeaderboardService.standing(LeaderboardWindow.DAY, "second"));
+        String token = jwtService.generateToken(second);
+        mockMvc.perform(get("/api/users/me/leaderboards/day")
+                        .header("Authorization", "Bearer " + token)
+                        .header("X-Username", second.getUsername()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(2));
+
+        //arrange
+        int finishedSeason = windowedLeaderboardService.currentSeason() - 3;
+        LocalDate day = LocalDate.now(ZoneOffset.UTC).minusDays(100);
+        windowedLeaderboardRepository.addWins(List.of(), List.of(
+                new DailyWins(first.getId(), day, finishedSeason, 5),
+                new DailyWins(second.getId(), day, finishedSeason, 7)));
+        //act
+        windowedLeaderboardService.archiveFinishedSeasons();
+        //assert
+        mockMvc.perform(get("/api/users/leaderboards/seasons/" + finishedSeason))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("second"))
+                .andExpect(jsonPath("$[0].rank").value(1))
+                .andExpect(jsonPath("$[1].wins").value(5));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_schema.season_wins WHERE season = ?", Integer.class, finishedSeason));
+    }
+
+    @Test
+    void replayDeadLetters_shouldRequireAdminRole() throws Exception {
+        //arrange
+        User player = userRepository.save(User.builder()
+                .username("player")
+                .password(passwordEncoder.encode("password"))
+                .role(UserRole.USER)
+                .build());
+        User admin = userRepository.save(User.builder()
+                .username("admin")
+                .password(passwordEncoder.encode("password"))
+                .role(UserRole.ADMIN)
+                .build());
+        when(deadLetterReplayService.replay(10)).thenReturn(3);
+        //act && assert
+        mockMvc.perform(post("/internal/admin/game-finished/dlt/replay").param("max", "10"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/internal/admin/game-finished/dlt/replay").param("max", "10")
+                        .header("X-Username", player.getUsername()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/internal/admin/game-finished/dlt/replay").param("max", "10")
+                        .header("X-Username", "nobody"))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(deadLetterReplayService);
+        mockMvc.perform(post("/internal/admin/game-finished/dlt/replay").param("max", "10")
+                        .header("X-Username", admin.getUsername()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.replayed").value(3));
+        verify(deadLetterReplayService).replay(10);
+    }
 }
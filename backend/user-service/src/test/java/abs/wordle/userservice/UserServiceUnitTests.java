@@ -1,7 +1,10 @@
 package abs.wordle.userservice;
 
+import abs.wordle.events.UserEvent;
+import abs.wordle.events.UserEventType;
 import abs.wordle.userservice.dto.AuthenticationRequestDTO;
 import abs.wordle.userservice.dto.AuthenticationResponseDTO;
+import abs.wordle.userservice.dto.RankedPlayer;
 import abs.wordle.userservice.dto.UserRequestDTO;
 import abs.wordle.userservice.enums.UserRole;
 import abs.wordle.userservice.exceptions.UserAlreadyExistException;
@@ -9,6 +12,7 @@ import abs.wordle.userservice.models.User;
 import abs.wordle.userservice.repository.UserRepository;
 import abs.wordle.userservice.security.JwtService;
 import abs.wordle.userservice.services.AuthenticationService;
+import abs.wordle.userservice.services.LeaderboardService;
 import abs.wordle.userservice.services.UserService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,10 +21,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,9 +46,15 @@ public class UserServiceUnitTests {
     private JwtService jwtService;
     @Mock
     private AuthenticationManager authenticationManager;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+    @Mock
+    private LeaderboardService leaderboardService;
 
     @InjectMocks
     private AuthenticationService authenticationService;
+    @InjectMocks
+    private UserService userService;
 
     @Test
     void register_shouldReturnCorrectUser_whenCredentialsAreValid() {
@@ -56,7 +68,7 @@ public class UserServiceUnitTests {
         when(userRepository.findByUsername(Mockito.anyString())).thenReturn(Optional.empty());
         when(passwordEncoder.encode("rawPassword")).thenReturn("encodedPassword");
         when(jwtService.generateToken(any(User.class))).thenReturn("dummy-jwt-token");
-        //when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> withId(invocation.getArgument(0), 42L));
 
         //act
         authenticationService.register(userRequestDTO);
@@ -75,6 +87,24 @@ public class UserServiceUnitTests {
         assertEquals(0, user.getLosses());
     }
 
+    @Test
+    void register_shouldPublishUserCreatedEvent() {
+        //arrange
+        UserRequestDTO userRequestDTO = new UserRequestDTO();
+        userRequestDTO.setUsername("username");
+        userRequestDTO.setPassword("rawPassword");
+        when(userRepository.findByUsername("username")).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> withId(invocation.getArgument(0), 42L));
+        //act
+        authenticationService.register(userRequestDTO);
+        //assert
+        ArgumentCaptor<UserEvent> captor = ArgumentCaptor.forClass(UserEvent.class);
+        verify(applicationEventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(UserEventType.CREATED, captor.getValue().getType());
+        assertEquals(42L, captor.getValue().getUserId());
+        assertEquals("username", captor.getValue().getUsername());
+    }
+
     @Test
     void register_shouldThrowUserAlreadyExistException_whenUsernameAlreadyExists() {
         UserRequestDTO userRequestDTO = new UserRequestDTO();
@@ -116,4 +146,54 @@ public class UserServiceUnitTests {
         verify(authenticationManager, Mockito.times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(jwtService, Mockito.times(1)).generateToken(user);
     }
+
+    // stands in for the id the database assigns on insert
+    @Test
+    void getPlayersAround_shouldRankTheWindowFromItsTopRow_whenTheUserIsNotOnTheLeaderboard() {
+        //arrange: one more player with 7 wins sits above the window
+        User me = withId(User.builder().username("me").wins(5).build(), 10L);
+        when(userRepository.findByUsername("me")).thenReturn(Optional.of(me));
+        when(userRepository.findPlayersAbove(5, 10L, 2)).thenReturn(List.of(
+                withId(User.builder().username("b").wins(7).build(), 4L),
+                withId(User.builder().username("a").wins(7).build(), 5L)));
+        when(userRepository.findPlayersBelow(5, 10L, 2)).thenReturn(List.of(
+                withId(User.builder().username("c").wins(5).build(), 8L),
+                withId(User.builder().username("d").wins(3).build(), 2L)));
+        when(userRepository.countByWinsGreaterThan(7)).thenReturn(1L);
+        when(userRepository.countByWinsGreaterThan(5)).thenReturn(4L);
+        //act
+        List<RankedPlayer> around = userService.getPlayersAround("me", 2);
+        //assert
+        assertEquals(List.of(
+                new RankedPlayer(2, "a", 7),
+                new RankedPlayer(2, "b", 7),
+                new RankedPlayer(5, "me", 5),
+                new RankedPlayer(5, "c", 5),
+                new RankedPlayer(7, "d", 3)), around);
+        verify(userRepository, never()).countByWinsGreaterThan(3);
+    }
+
+    @Test
+    void getPlayersAround_shouldNotCount_whenTheWindowStartsAtTheFirstPlayer() {
+        //arrange
+        User me = withId(User.builder().username("me").wins(5).build(), 10L);
+        when(userRepository.findByUsername("me")).thenReturn(Optional.of(me));
+        when(userRepository.findPlayersAbove(5, 10L, 2)).thenReturn(List.of(
+                withId(User.builder().username("a").wins(7).build(), 5L)));
+        when(userRepository.findPlayersBelow(5, 10L, 2)).thenReturn(List.of(
+                withId(User.builder().username("c").wins(5).build(), 8L)));
+        //act
+        List<RankedPlayer> around = userService.getPlayersAround("me", 2);
+        //assert
+        assertEquals(List.of(
+                new RankedPlayer(1, "a", 7),
+                new RankedPlayer(2, "me", 5),
+                new RankedPlayer(2, "c", 5)), around);
+        verify(userRepository, never()).countByWinsGreaterThan(any());
+    }
+
+    private static User withId(User user, Long id) {
+        user.setId(id);
+        return user;
+    }
 }
@@ -0,0 +1,101 @@
+package abs.wordle.events.serialization;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.apache.avro.specific.SpecificRecord;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes generated event classes as {@code [magic 0][schema id, 4 bytes][Avro binary body]}.
+ * The body carries no field names or type hints; the id tells the reader which registered schema
+ * wrote it, and Avro resolves that schema against the reader's own generated class, so producers
+ * and consumers can be upgraded independently within the registry's evolution rules.
+ */
+public final class AvroEventCodec {
+    private static final byte MAGIC = 0;
+    private static final int HEADER_SIZE = 5;
+    private static volatile AvroEventCodec shared;
+
+    private final FileSchemaRegistry registry;
+    private final Map<Class<?>, Writer> writers = new ConcurrentHashMap<>();
+    private final Map<Integer, SpecificDatumReader<?>> readers = new ConcurrentHashMap<>();
+    private final ThreadLocal<BinaryDecoder> decoders = new ThreadLocal<>();
+
+    public AvroEventCodec(FileSchemaRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Codec over the schemas bundled with this module. */
+    public static AvroEventCodec shared() {
+        AvroEventCodec codec = shared;
+        if (codec == null) {
+            synchronized (AvroEventCodec.class) {
+                codec = shared;
+                if (codec == null) {
+                    codec = new AvroEventCodec(FileSchemaRegistry.load(FileSchemaRegistry.DEFAULT_LOCATION));
+                    shared = codec;
+                }
+            }
+        }
+        return codec;
+    }
+
+    public byte[] encode(SpecificRecord record) {
+        Writer writer = writers.computeIfAbsent(record.getClass(), type -> new Writer(
+                registry.idOf(record.getSchema()), new SpecificDatumWriter<>(record.getSchema())));
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(MAGIC);
+        out.write(writer.id >>> 24);
+        out.write(writer.id >>> 16);
+        out.write(writer.id >>> 8);
+        out.write(writer.id);
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+        try {
+            writer.datumWriter.write(record, encoder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends SpecificRecord> T decode(byte[] data) {
+        if (data.length < HEADER_SIZE || data[0] != MAGIC) {
+            throw new IllegalArgumentException("Not an Avro event: missing magic byte");
+        }
+        int id = ByteBuffer.wrap(data, 1, 4).getInt();
+        SpecificDatumReader<?> reader = readers.computeIfAbsent(id, this::createReader);
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(data, HEADER_SIZE, data.length - HEADER_SIZE, decoders.get());
+        decoders.set(decoder);
+        try {
+            return (T) reader.read(null, decoder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private SpecificDatumReader<?> createReader(int id) {
+        Schema writerSchema = registry.schema(id);
+        Class<?> type = SpecificData.get().getClass(writerSchema);
+        if (type == null) {
+            throw new IllegalArgumentException("No generated class for " + writerSchema.getFullName());
+        }
+        // read into this build's own version of the class, resolving added or removed fields
+        return new SpecificDatumReader<>(writerSchema, SpecificData.get().getSchema(type));
+    }
+
+    private record Writer(int id, SpecificDatumWriter<SpecificRecord> datumWriter) {
+    }
+}
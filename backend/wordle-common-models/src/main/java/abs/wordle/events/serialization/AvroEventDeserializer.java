@@ -0,0 +1,38 @@
+package abs.wordle.events.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.util.Map;
+
+/** Kafka value deserializer for records written by {@link AvroEventSerializer}. */
+public class AvroEventDeserializer implements Deserializer<Object> {
+    private AvroEventCodec codec;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object location = configs.get(AvroEventSerializer.REGISTRY_LOCATION_CONFIG);
+        if (location != null && !FileSchemaRegistry.DEFAULT_LOCATION.equals(location)) {
+            codec = new AvroEventCodec(FileSchemaRegistry.load(location.toString()));
+        }
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return codec().decode(data);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Cannot deserialize record from " + topic, e);
+        }
+    }
+
+    private AvroEventCodec codec() {
+        if (codec == null) {
+            codec = AvroEventCodec.shared();
+        }
+        return codec;
+    }
+}
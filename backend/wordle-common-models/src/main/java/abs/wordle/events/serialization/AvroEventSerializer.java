@@ -0,0 +1,51 @@
+package abs.wordle.events.serialization;
+
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+
+/**
+ * Kafka value serializer for the generated event classes. Values that are already encoded
+ * ({@code byte[]}, e.g. outbox payloads or replayed dead letters) are passed through as-is.
+ */
+public class AvroEventSerializer implements Serializer<Object> {
+    public static final String REGISTRY_LOCATION_CONFIG = "wordle.schema.registry.location";
+
+    // null until configured with another registry or first used, so the bundled one is only loaded when needed
+    private AvroEventCodec codec;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object location = configs.get(REGISTRY_LOCATION_CONFIG);
+        if (location != null && !FileSchemaRegistry.DEFAULT_LOCATION.equals(location)) {
+            codec = new AvroEventCodec(FileSchemaRegistry.load(location.toString()));
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (data instanceof byte[] encoded) {
+            return encoded;
+        }
+        if (data instanceof SpecificRecord record) {
+            try {
+                return codec().encode(record);
+            } catch (RuntimeException e) {
+                throw new SerializationException("Cannot serialize " + record.getSchema().getFullName(), e);
+            }
+        }
+        throw new SerializationException("Unsupported event type " + data.getClass().getName());
+    }
+
+    private AvroEventCodec codec() {
+        if (codec == null) {
+            codec = AvroEventCodec.shared();
+        }
+        return codec;
+    }
+}
@@ -0,0 +1,139 @@
+package abs.wordle.events.serialization;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaCompatibility;
+import org.apache.avro.SchemaNormalization;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Read-only stand-in for a schema registry, backed by files that ship with the code.
+ * {@code index.properties} under the location maps each schema id to {@code <full name>/<version>},
+ * and the schema itself lives in {@code <full name>/v<version>.avsc} next to it. The location is
+ * either {@code classpath:<dir>} or a filesystem directory.
+ *
+ * <p>Evolution rules, checked when the registry is loaded:
+ * <ul>
+ *     <li>versions of a record are numbered 1, 2, 3... without gaps and each gets a new id;
+ *     ids are never reused;</li>
+ *     <li>every version must be fully compatible with all earlier ones: readers of either
+ *     version can read data written with the other. In practice fields may only be added or
+ *     removed when they have a default, and enum symbols may only be added because every enum
+ *     declares a default symbol;</li>
+ *     <li>renaming a field or changing its type needs a new record name instead.</li>
+ * </ul>
+ */
+public final class FileSchemaRegistry {
+    public static final String DEFAULT_LOCATION = "classpath:schemas";
+
+    private final Map<Integer, Schema> schemasById;
+    private final Map<Long, Integer> idsByFingerprint;
+
+    private FileSchemaRegistry(Map<Integer, Schema> schemasById) {
+        this.schemasById = Map.copyOf(schemasById);
+        Map<Long, Integer> idsByFingerprint = new HashMap<>();
+        schemasById.forEach((id, schema) -> idsByFingerprint.put(SchemaNormalization.parsingFingerprint64(schema), id));
+        this.idsByFingerprint = Map.copyOf(idsByFingerprint);
+    }
+
+    public static FileSchemaRegistry load(String location) {
+        Properties index = new Properties();
+        try (InputStream in = open(location, "index.properties")) {
+            index.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read schema index at " + location, e);
+        }
+
+        Map<Integer, Schema> schemasById = new TreeMap<>();
+        Map<String, TreeMap<Integer, Schema>> versionsBySubject = new HashMap<>();
+        for (String key : index.stringPropertyNames()) {
+            int id = Integer.parseInt(key.trim());
+            String[] entry = index.getProperty(key).trim().split("/");
+            if (entry.length != 2) {
+                throw new IllegalStateException("Schema " + id + " must be registered as <full name>/<version>");
+            }
+            String subject = entry[0];
+            int version = Integer.parseInt(entry[1]);
+            Schema schema = parse(location, subject + "/v" + version + ".avsc");
+            if (!schema.getFullName().equals(subject)) {
+                throw new IllegalStateException("Schema " + id + " declares " + schema.getFullName() + ", not " + subject);
+            }
+            if (versionsBySubject.computeIfAbsent(subject, s -> new TreeMap<>()).put(version, schema) != null) {
+                throw new IllegalStateException(subject + " v" + version + " is registered twice");
+            }
+            schemasById.put(id, schema);
+        }
+        versionsBySubject.forEach(FileSchemaRegistry::checkEvolution);
+        return new FileSchemaRegistry(schemasById);
+    }
+
+    public Schema schema(int id) {
+        Schema schema = schemasById.get(id);
+        if (schema == null) {
+            throw new IllegalArgumentException("Unknown schema id " + id);
+        }
+        return schema;
+    }
+
+    /** Id under which exactly this schema is registered; fails for unregistered schemas. */
+    public int idOf(Schema schema) {
+        Integer id = idsByFingerprint.get(SchemaNormalization.parsingFingerprint64(schema));
+        if (id == null) {
+            throw new IllegalArgumentException(schema.getFullName() + " is not registered in this schema version");
+        }
+        return id;
+    }
+
+    private static void checkEvolution(String subject, TreeMap<Integer, Schema> versions) {
+        List<Schema> earlier = new ArrayList<>();
+        int expected = 1;
+        for (Map.Entry<Integer, Schema> version : versions.entrySet()) {
+            if (version.getKey() != expected++) {
+                throw new IllegalStateException(subject + " versions must be numbered from 1 without gaps");
+            }
+            for (Schema previous : earlier) {
+                requireCompatible(subject, version.getKey(), version.getValue(), previous);
+                requireCompatible(subject, version.getKey(), previous, version.getValue());
+            }
+            earlier.add(version.getValue());
+        }
+    }
+
+    private static void requireCompatible(String subject, int version, Schema reader, Schema writer) {
+        SchemaCompatibility.SchemaPairCompatibility result =
+                SchemaCompatibility.checkReaderWriterCompatibility(reader, writer);
+        if (result.getType() != SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE) {
+            throw new IllegalStateException(subject + " v" + version + " breaks compatibility: " + result.getDescription());
+        }
+    }
+
+    private static Schema parse(String location, String file) {
+        try (InputStream in = open(location, file)) {
+            return new Schema.Parser().parse(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read schema " + file + " at " + location, e);
+        }
+    }
+
+    private static InputStream open(String location, String file) throws IOException {
+        if (location.startsWith("classpath:")) {
+            String resource = location.substring("classpath:".length()) + "/" + file;
+            InputStream in = FileSchemaRegistry.class.getClassLoader().getResourceAsStream(resource);
+            if (in == null) {
+                throw new IOException("Classpath resource " + resource + " not found");
+            }
+            return in;
+        }
+        return Files.newInputStream(Path.of(location, file));
+    }
+}
@@ -0,0 +1,84 @@
+package abs.wordle.wordleCommonModels;
+
+import abs.wordle.events.GameFinishedEvent;
+import abs.wordle.events.GameResult;
+import abs.wordle.events.GuessMadeEvent;
+import abs.wordle.events.UserEvent;
+import abs.wordle.events.serialization.AvroEventCodec;
+import abs.wordle.events.serialization.FileSchemaRegistry;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AvroEventCodecTests {
+
+    @Test
+    void encode_shouldRoundTripEvents_inAFewBytes() {
+        //arrange
+        AvroEventCodec codec = AvroEventCodec.shared();
+        GuessMadeEvent event = GuessMadeEvent.newBuilder()
+                .setGameId(123_456L)
+                .setUserId(42L)
+                .setAttempt(3)
+                .setFeedback(242)
+                .setLatencyMillis(5_000L)
+                .setMadeAt(1_700_000_000_000L)
+                .build();
+        //act
+        byte[] encoded = codec.encode(event);
+        GuessMadeEvent decoded = codec.decode(encoded);
+        //assert
+        assertEquals(event, decoded);
+        assertTrue(encoded.length < 32, "encoded size was " + encoded.length);
+    }
+
+    @Test
+    void idOf_shouldFindEveryGeneratedSchema_inTheBundledRegistry() {
+        //arrange
+        FileSchemaRegistry registry = FileSchemaRegistry.load(FileSchemaRegistry.DEFAULT_LOCATION);
+        //act && assert: a schema edited in src/main/avro without a new registry version cannot be written
+        for (Schema schema : List.of(GameFinishedEvent.getClassSchema(), GuessMadeEvent.getClassSchema(),
+                UserEvent.getClassSchema())) {
+            assertDoesNotThrow(() -> registry.idOf(schema), schema.getFullName());
+        }
+    }
+
+    @Test
+    void decode_shouldResolveRecordsWrittenWithAnotherCompatibleVersion() throws Exception {
+        //arrange
+        FileSchemaRegistry registry = FileSchemaRegistry.load("classpath:registry-evolution");
+        Schema newer = registry.schema(2);
+        GenericRecord record = new GenericData.Record(newer);
+        record.put("userId", 7L);
+        record.put("result", new GenericData.EnumSymbol(newer.getField("result").schema(), "WIN"));
+        record.put("attempts", 4);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[]{0, 0, 0, 0, 2});
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+        new GenericDatumWriter<GenericRecord>(newer).write(record, encoder);
+        //act
+        GameFinishedEvent decoded = new AvroEventCodec(registry).decode(out.toByteArray());
+        //assert: fields the writer knew are kept, fields it did not know take their defaults
+        assertEquals(7L, decoded.getUserId());
+        assertEquals(GameResult.WIN, decoded.getResult());
+        assertEquals(4, decoded.getAttempts());
+        assertNull(decoded.getFinishedAt());
+    }
+
+    @Test
+    void load_shouldRejectVersion_thatOlderReadersCannotResolve() {
+        //act && assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> FileSchemaRegistry.load("classpath:registry-breaking"));
+        assertTrue(exception.getMessage().contains("GameFinishedEvent v2"));
+    }
+}